@@ -0,0 +1,92 @@
+package com.ascend.ascend_doc_split_review.benchmark;
+
+import com.ascend.ascend_doc_split_review.entity.OriginalDocument;
+import com.ascend.ascend_doc_split_review.entity.Page;
+import com.ascend.ascend_doc_split_review.entity.SplitPart;
+import com.ascend.ascend_doc_split_review.entity.User;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory entity graphs and PDFs shaped like real review documents.
+ */
+final class BenchmarkFixtures {
+
+    static final int PAGES_PER_SPLIT = 10;
+
+    private BenchmarkFixtures() {
+    }
+
+    static int[] pageRange(int from, int to) {
+        int[] pages = new int[Math.max(0, to - from + 1)];
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = from + i;
+        }
+        return pages;
+    }
+
+    /**
+     * A document of {@code pageCount} pages split into parts of {@link #PAGES_PER_SPLIT} pages.
+     */
+    static OriginalDocument document(int pageCount) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("bench");
+
+        OriginalDocument doc = new OriginalDocument();
+        doc.setId(1L);
+        doc.setUser(user);
+        doc.setOriginalFilename("bundle.pdf");
+        doc.setSplitParts(new ArrayList<>());
+
+        long pageId = 1;
+        for (int from = 1, splitId = 1; from <= pageCount; from += PAGES_PER_SPLIT, splitId++) {
+            int to = Math.min(pageCount, from + PAGES_PER_SPLIT - 1);
+            SplitPart sp = new SplitPart();
+            sp.setId((long) splitId);
+            sp.setOriginalDocument(doc);
+            sp.setName("Split " + splitId);
+            sp.setClassification("80C");
+            sp.setFilename("split_" + splitId + ".pdf");
+            sp.setFromPage(from);
+            sp.setToPage(to);
+            List<Page> pages = new ArrayList<>();
+            for (int n = from; n <= to; n++) {
+                Page page = new Page();
+                page.setId(pageId++);
+                page.setSplitPart(sp);
+                page.setPageNumber(n);
+                page.setContent("OCR text of page " + n);
+                pages.add(page);
+            }
+            sp.setPages(pages);
+            doc.getSplitParts().add(sp);
+        }
+        return doc;
+    }
+
+    static void writePdf(Path target, int pageCount) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (int n = 1; n <= pageCount; n++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.beginText();
+                    contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                    contentStream.newLineAtOffset(100, 700);
+                    contentStream.showText("Benchmark page " + n);
+                    contentStream.endText();
+                }
+            }
+            document.save(target.toFile());
+        }
+    }
+}
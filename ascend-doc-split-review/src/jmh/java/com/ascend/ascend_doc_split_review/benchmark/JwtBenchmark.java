@@ -0,0 +1,52 @@
+package com.ascend.ascend_doc_split_review.benchmark;
+
+import com.ascend.ascend_doc_split_review.entity.User;
+import com.ascend.ascend_doc_split_review.security.JwtUtil;
+import com.ascend.ascend_doc_split_review.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue (login) and verification (every authenticated request).
+ * Token cost does not depend on document size, so this benchmark has no page-count parameter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private UserPrincipal principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "MyVeryLongJWTSecretKeyThatIsAtLeast32BytesLong!!");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("demo");
+        user.setPassword("hash");
+        principal = new UserPrincipal(user);
+        token = jwtUtil.generateToken(principal);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(principal);
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtUtil.parseClaims(token);
+    }
+}
@@ -0,0 +1,40 @@
+package com.ascend.ascend_doc_split_review.benchmark;
+
+import com.ascend.ascend_doc_split_review.service.MockDownloadService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MockDownloadService rendering, cold (new id per call) and warm (cached id).
+ * Mock PDFs always have a single page, so there is no page-count parameter here;
+ * multi-page PDF cost is covered by PdfGenerationBenchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MockDownloadBenchmark {
+
+    private MockDownloadService mockDownloadService;
+    private long nextId;
+
+    @Setup
+    public void setUp() {
+        mockDownloadService = new MockDownloadService(new SimpleMeterRegistry(), 1024 * 1024);
+        mockDownloadService.getMockFile(0L);
+    }
+
+    @Benchmark
+    public byte[] renderCold() {
+        return mockDownloadService.getMockFile(++nextId);
+    }
+
+    @Benchmark
+    public byte[] cachedHit() {
+        return mockDownloadService.getMockFile(0L);
+    }
+}
@@ -0,0 +1,53 @@
+package com.ascend.ascend_doc_split_review.benchmark;
+
+import com.ascend.ascend_doc_split_review.service.ContiguityReport;
+import com.ascend.ascend_doc_split_review.service.PageContiguityValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contiguity validation of a move that shifts the second half of a split into its neighbour,
+ * i.e. what PageService#movePagesToSplitPart checks before touching the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageMoveValidationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int pageCount;
+
+    private int[] targetExisting;
+    private int[] sourceExisting;
+    private int[] moving;
+
+    @Setup
+    public void setUp() {
+        int half = pageCount / 2;
+        int quarter = pageCount / 4;
+        targetExisting = BenchmarkFixtures.pageRange(1, half);
+        sourceExisting = BenchmarkFixtures.pageRange(half + 1, pageCount);
+        moving = BenchmarkFixtures.pageRange(half + 1, half + quarter);
+    }
+
+    @Benchmark
+    public ContiguityReport validateMove() {
+        return new PageContiguityValidator()
+                .checkTarget(1L, targetExisting, moving)
+                .checkSource(2L, sourceExisting, moving)
+                .report();
+    }
+
+    @Benchmark
+    public ContiguityReport validateRejectedMove() {
+        // Leaves a one-page hole in the source: the report has to collect a gap
+        int[] holed = new int[]{sourceExisting[1]};
+        return new PageContiguityValidator()
+                .checkSource(2L, sourceExisting, holed)
+                .report();
+    }
+}
@@ -0,0 +1,71 @@
+package com.ascend.ascend_doc_split_review.benchmark;
+
+import com.ascend.ascend_doc_split_review.service.SplitPdfAssembler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page-range assembly of split PDFs from a stored source PDF (the download endpoints).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PdfGenerationBenchmark {
+
+    @Param({"10", "100", "500"})
+    int pageCount;
+
+    private SplitPdfAssembler assembler;
+    private Path source;
+
+    @Setup
+    public void setUp() throws IOException {
+        assembler = new SplitPdfAssembler(4L * 1024 * 1024);
+        source = Files.createTempFile("jmh-source-", ".pdf");
+        BenchmarkFixtures.writePdf(source, pageCount);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(source);
+    }
+
+    @Benchmark
+    public void assembleWholeDocument(Blackhole blackhole) throws IOException {
+        assembler.writePages(source, List.of(new SplitPdfAssembler.PageRange(1, pageCount)), new BlackholeOutputStream(blackhole));
+    }
+
+    @Benchmark
+    public void assembleFirstSplit(Blackhole blackhole) throws IOException {
+        int to = Math.min(pageCount, BenchmarkFixtures.PAGES_PER_SPLIT);
+        assembler.writePages(source, List.of(new SplitPdfAssembler.PageRange(1, to)), new BlackholeOutputStream(blackhole));
+    }
+
+    private static final class BlackholeOutputStream extends OutputStream {
+        private final Blackhole blackhole;
+
+        BlackholeOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ascend.ascend_doc_split_review.benchmark;
+
+import com.ascend.ascend_doc_split_review.dto.OriginalDocumentResponse;
+import com.ascend.ascend_doc_split_review.dto.SplitPartResponse;
+import com.ascend.ascend_doc_split_review.entity.OriginalDocument;
+import com.ascend.ascend_doc_split_review.entity.SplitPart;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping of GET /api/documents/{documentId} and GET /api/splits/{id}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseMappingBenchmark {
+
+    @Param({"30", "300", "3000"})
+    int pageCount;
+
+    private OriginalDocument document;
+    private SplitPart largestSplit;
+
+    @Setup
+    public void setUp() {
+        document = BenchmarkFixtures.document(pageCount);
+        largestSplit = document.getSplitParts().get(0);
+    }
+
+    @Benchmark
+    public OriginalDocumentResponse mapDocument() {
+        return OriginalDocumentResponse.fromEntity(document);
+    }
+
+    @Benchmark
+    public SplitPartResponse mapSplitPart() {
+        return SplitPartResponse.fromEntity(largestSplit);
+    }
+}
@@ -0,0 +1,99 @@
+package com.ascend.ascend_doc_split_review.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencies of one load step, per endpoint. Every sample is kept, so percentiles are exact; a step records a few
+ * thousand requests at most.
+ */
+class LatencyReport {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicLong workflows = new AtomicLong();
+    private long startNanos;
+    private long elapsedNanos;
+
+    void start() {
+        startNanos = System.nanoTime();
+    }
+
+    void stop() {
+        elapsedNanos = System.nanoTime() - startNanos;
+    }
+
+    void record(String endpoint, long nanos, boolean failed) {
+        Endpoint e = endpoints.computeIfAbsent(endpoint, k -> new Endpoint());
+        e.nanos.add(nanos);
+        if (failed) {
+            e.errors.incrementAndGet();
+        }
+    }
+
+    void workflowCompleted() {
+        workflows.incrementAndGet();
+    }
+
+    double elapsedSeconds() {
+        return elapsedNanos / 1e9;
+    }
+
+    long workflows() {
+        return workflows.get();
+    }
+
+    List<Stats> stats() {
+        List<Stats> stats = new ArrayList<>();
+        endpoints.forEach((name, e) -> {
+            long[] sorted = e.nanos.stream().mapToLong(Long::longValue).sorted().toArray();
+            stats.add(new Stats(name, sorted.length, e.errors.get(), sorted.length / elapsedSeconds(),
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.95)),
+                    millis(percentile(sorted, 0.99)), millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0)));
+        });
+        stats.sort((a, b) -> a.endpoint().compareTo(b.endpoint()));
+        return stats;
+    }
+
+    String format(int reviewers) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%n%d reviewers: %d workflows in %.1f s (%.2f workflows/s)%n",
+                reviewers, workflows(), elapsedSeconds(), workflows() / elapsedSeconds()));
+        out.append(String.format("%-45s %7s %6s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Stats s : stats()) {
+            out.append(String.format("%-45s %7d %6d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    s.endpoint(), s.count(), s.errors(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max()));
+        }
+        return out.toString();
+    }
+
+    // Nearest-rank percentile
+    static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    record Stats(String endpoint, int count, long errors, double throughput, double p50, double p95, double p99, double max) {
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+
+    private static class Endpoint {
+        final Queue<Long> nanos = new ConcurrentLinkedQueue<>();
+        final AtomicLong errors = new AtomicLong();
+    }
+}
@@ -0,0 +1,189 @@
+package com.ascend.ascend_doc_split_review.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives concurrent {@link Reviewer}s through the review workflow against the application on a random port, one
+ * step per entry of {@code loadtest.reviewer-steps}. Each step reports throughput and p50/p95/p99 latency per
+ * endpoint (logged and written to {@code target/loadtest-report.txt}) and is checked against the
+ * {@code loadtest.slo.*} settings. Steps stop at the first breach, which fails the test; the last step within the
+ * SLOs is the number of concurrent reviewers one instance sustains.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class ReviewWorkflowLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewWorkflowLoadTest.class);
+
+    private static final Path REPORT = Path.of("target", "loadtest-report.txt");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.reviewer-steps}")
+    private int[] reviewerSteps;
+
+    @Value("${loadtest.iterations}")
+    private int iterations;
+
+    @Value("${loadtest.warmup-workflows}")
+    private int warmupWorkflows;
+
+    @Value("${loadtest.pages}")
+    private int pages;
+
+    @Value("${loadtest.move-round-trips}")
+    private int moveRoundTrips;
+
+    @Value("${loadtest.slo.p95-millis}")
+    private double p95Millis;
+
+    @Value("${loadtest.slo.p99-millis}")
+    private double p99Millis;
+
+    @Value("#{${loadtest.slo.p95-millis.endpoints}}")
+    private Map<String, Integer> p95MillisByEndpoint;
+
+    @Value("${loadtest.slo.max-error-rate}")
+    private double maxErrorRate;
+
+    @Test
+    void reviewWorkflow_meetsSlos() throws Exception {
+        byte[] pdf = samplePdf(pages);
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        // JIT, connection and cache warm-up; not reported
+        runStep(http, pdf, 1, warmupWorkflows);
+
+        StringBuilder output = new StringBuilder();
+        List<String> breaches = List.of();
+        int sustained = 0;
+        for (int reviewers : reviewerSteps) {
+            LatencyReport report = runStep(http, pdf, reviewers, iterations);
+            String formatted = report.format(reviewers);
+            log.info(formatted);
+            output.append(formatted);
+            breaches = checkSlos(report);
+            if (!breaches.isEmpty()) {
+                output.append(String.format("SLO breached at %d reviewers:%n  %s%n", reviewers, String.join("\n  ", breaches)));
+                break;
+            }
+            sustained = reviewers;
+        }
+        output.append(String.format("%nHighest step within SLOs: %d concurrent reviewers%n", sustained));
+        log.info("Highest step within SLOs: {} concurrent reviewers", sustained);
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, output);
+
+        assertThat(breaches).as("SLO breaches (see %s)", REPORT).isEmpty();
+    }
+
+    private LatencyReport runStep(HttpClient http, byte[] pdf, int reviewers, int workflowsPerReviewer) throws Exception {
+        LatencyReport report = new LatencyReport();
+        String baseUrl = "http://localhost:" + port;
+        List<Reviewer> group = new ArrayList<>(reviewers);
+        for (int i = 0; i < reviewers; i++) {
+            Reviewer reviewer = new Reviewer(http, baseUrl, objectMapper, report);
+            reviewer.register();
+            group.add(reviewer);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(reviewers);
+        try {
+            report.start();
+            List<Future<?>> futures = new ArrayList<>(reviewers);
+            for (Reviewer reviewer : group) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < workflowsPerReviewer; i++) {
+                        try {
+                            reviewer.runWorkflow(pdf, moveRoundTrips);
+                        } catch (IOException | IllegalStateException e) {
+                            // Already recorded as an error of the failing endpoint; start the next workflow
+                            log.warn("Workflow failed: {}", e.getMessage());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            report.stop();
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        return report;
+    }
+
+    private List<String> checkSlos(LatencyReport report) {
+        List<String> breaches = new ArrayList<>();
+        for (LatencyReport.Stats s : report.stats()) {
+            double p95Limit = p95MillisByEndpoint.getOrDefault(s.endpoint(), (int) p95Millis);
+            double p99Limit = Math.max(p99Millis, p95Limit);
+            if (s.p95() > p95Limit) {
+                breaches.add(String.format("%s: p95 %.1f ms > %.0f ms", s.endpoint(), s.p95(), p95Limit));
+            }
+            if (s.p99() > p99Limit) {
+                breaches.add(String.format("%s: p99 %.1f ms > %.0f ms", s.endpoint(), s.p99(), p99Limit));
+            }
+            if (s.errorRate() > maxErrorRate) {
+                breaches.add(String.format("%s: %d of %d requests failed", s.endpoint(), s.errors(), s.count()));
+            }
+        }
+        return breaches;
+    }
+
+    private static byte[] samplePdf(int pageCount) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PDDocument document = new PDDocument()) {
+            for (int n = 1; n <= pageCount; n++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                    content.newLineAtOffset(100, 700);
+                    content.showText("Load test page " + n);
+                    content.endText();
+                }
+            }
+            document.save(out);
+        }
+        return out.toByteArray();
+    }
+}
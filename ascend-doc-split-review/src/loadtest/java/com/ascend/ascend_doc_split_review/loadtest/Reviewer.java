@@ -0,0 +1,187 @@
+package com.ascend.ascend_doc_split_review.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One virtual reviewer with its own account. A workflow logs in, uploads a PDF, reads it, splits it in two, moves
+ * a boundary page back and forth, renames a split part, finalizes the document, waits for rendering and downloads
+ * the results. Every request is timed into the step's {@link LatencyReport} under its endpoint pattern.
+ */
+class Reviewer {
+
+    static final String FINALIZE_JOB = "finalize job (until rendered)";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long JOB_POLL_MILLIS = 50;
+    private static final long JOB_TIMEOUT_MILLIS = 60_000;
+    private static final String PASSWORD = "password";
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ObjectMapper json;
+    private final LatencyReport report;
+    private final String username = "reviewer-" + UUID.randomUUID();
+    private String token;
+
+    Reviewer(HttpClient http, String baseUrl, ObjectMapper json, LatencyReport report) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.json = json;
+        this.report = report;
+    }
+
+    // Account setup, not part of the measured workflow
+    void register() throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(post("/api/auth/register",
+                        Map.of("username", username, "password", PASSWORD, "email", username + "@example.com")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Registering " + username + " failed with " + response.statusCode());
+        }
+    }
+
+    void runWorkflow(byte[] pdf, int moveRoundTrips) throws IOException, InterruptedException {
+        token = send("POST /api/auth/login", post("/api/auth/login", Map.of("username", username, "password", PASSWORD)), 200)
+                .get("token").asText();
+
+        long documentId = send("POST /api/documents/upload", upload(pdf), 201).get("id").asLong();
+
+        JsonNode document = send("GET /api/documents/{documentId}", get("/api/documents/" + documentId), 200);
+        JsonNode whole = document.get("splitParts").get(0);
+        long partA = whole.get("id").asLong();
+        List<Long> pageIds = new ArrayList<>();
+        whole.get("pages").forEach(page -> pageIds.add(page.get("id").asLong()));
+        int half = pageIds.size() / 2;
+
+        long partB = send("POST /api/split-parts", post("/api/split-parts", Map.of(
+                "originalDocumentId", documentId,
+                "name", "Second half",
+                "classification", "OTHER",
+                "filename", "second-half.pdf",
+                "pageIds", pageIds.subList(half, pageIds.size()))), 200).get("id").asLong();
+
+        // Pages come back in page order: the last page of A is the boundary page
+        Long boundary = pageIds.get(half - 1);
+        for (int i = 0; i < moveRoundTrips; i++) {
+            send("POST /api/pages/move", post("/api/pages/move", Map.of("pageIds", List.of(boundary), "targetSplitPartId", partB)), 200);
+            send("POST /api/pages/move", post("/api/pages/move", Map.of("pageIds", List.of(boundary), "targetSplitPartId", partA)), 200);
+        }
+
+        send("PATCH /api/split-parts/{id}", patch("/api/split-parts/" + partA,
+                Map.of("name", "First half", "filename", "first-half.pdf")), 200);
+
+        long finalizeStart = System.nanoTime();
+        HttpResponse<String> accepted = exchange("POST /api/documents/{documentId}/finalize",
+                request("/api/documents/" + documentId + "/finalize").POST(HttpRequest.BodyPublishers.noBody()), 202);
+        String jobLocation = accepted.headers().firstValue("Location")
+                .orElseThrow(() -> new IllegalStateException("finalize returned no Location"));
+        awaitJob(jobLocation);
+        report.record(FINALIZE_JOB, System.nanoTime() - finalizeStart, false);
+
+        download("GET /api/splits/{id}/download", "/api/splits/" + partA + "/download");
+        download("GET /api/documents/{id}/download", "/api/documents/" + documentId + "/download");
+        report.workflowCompleted();
+    }
+
+    private void awaitJob(String jobLocation) throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + JOB_TIMEOUT_MILLIS;
+        while (true) {
+            String status = send("GET /api/jobs/{id}", get(jobLocation), 200).get("status").asText();
+            if (status.equals("SUCCEEDED")) {
+                return;
+            }
+            if (status.equals("FAILED") || System.currentTimeMillis() > deadline) {
+                report.record(FINALIZE_JOB, 0, true);
+                throw new IllegalStateException("Finalize job " + jobLocation + " ended as " + status);
+            }
+            Thread.sleep(JOB_POLL_MILLIS);
+        }
+    }
+
+    private void download(String endpoint, String path) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(get(path).build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            report.record(endpoint, System.nanoTime() - start, true);
+            throw e;
+        }
+        boolean failed = response.statusCode() != 200 || response.body().length == 0;
+        report.record(endpoint, System.nanoTime() - start, failed);
+        if (failed) {
+            throw new IllegalStateException(endpoint + " returned " + response.statusCode());
+        }
+    }
+
+    private JsonNode send(String endpoint, HttpRequest.Builder request, int expectedStatus) throws IOException, InterruptedException {
+        return json.readTree(exchange(endpoint, request, expectedStatus).body());
+    }
+
+    private HttpResponse<String> exchange(String endpoint, HttpRequest.Builder request, int expectedStatus)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            report.record(endpoint, System.nanoTime() - start, true);
+            throw e;
+        }
+        boolean failed = response.statusCode() != expectedStatus;
+        report.record(endpoint, System.nanoTime() - start, failed);
+        if (failed) {
+            throw new IllegalStateException(endpoint + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(path.startsWith("http") ? path : baseUrl + path))
+                .timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+
+    private HttpRequest.Builder post(String path, Object body) throws IOException {
+        return request(path).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body)));
+    }
+
+    private HttpRequest.Builder patch(String path, Object body) throws IOException {
+        return request(path).header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body)));
+    }
+
+    private HttpRequest.Builder upload(byte[] pdf) {
+        String boundary = "loadtest-" + UUID.randomUUID();
+        byte[] head = ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"review.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes();
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes();
+        return request("/api/documents/upload")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.concat(
+                        HttpRequest.BodyPublishers.ofByteArray(head),
+                        HttpRequest.BodyPublishers.ofByteArray(pdf),
+                        HttpRequest.BodyPublishers.ofByteArray(tail)));
+    }
+}
@@ -0,0 +1,43 @@
+package com.ascend.ascend_doc_split_review.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a count is open. Registered as the
+ * session factory's statement inspector; {@code SqlBudgetFilter} opens a count per HTTP request.
+ * <p>
+ * A JDBC batch is one statement however many rows it carries, so the count approximates database round trips.
+ * Statements issued directly through {@code JdbcTemplate} (NDJSON ingestion) bypass Hibernate and are not
+ * counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    public static void start() {
+        COUNT.set(new long[1]);
+    }
+
+    /**
+     * @return statements counted on this thread since {@link #start()}, or -1 when no count is open
+     */
+    public static long current() {
+        long[] count = COUNT.get();
+        return count != null ? count[0] : -1;
+    }
+
+    public static long stop() {
+        long count = current();
+        COUNT.remove();
+        return count;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
@@ -3,12 +3,13 @@ package com.ascend.ascend_doc_split_review.controller;
 import com.ascend.ascend_doc_split_review.entity.User;
 import com.ascend.ascend_doc_split_review.repository.UserRepository;
 import com.ascend.ascend_doc_split_review.security.JwtUtil;
+import com.ascend.ascend_doc_split_review.security.UserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,9 +23,6 @@ public class AuthController {
     @Autowired
     private AuthenticationManager authenticationManager;
 
-    @Autowired
-    private UserDetailsService userDetailsService;
-
     @Autowired
     private UserRepository userRepository;
 
@@ -47,10 +45,9 @@ public class AuthController {
         user.setUsername(request.getUsername());
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         user.setEmail(request.getEmail());
-        userRepository.save(user);
+        user = userRepository.save(user);
 
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
-        final String token = jwtUtil.generateToken(userDetails);
+        final String token = jwtUtil.generateToken(new UserPrincipal(user));
 
         Map<String, String> response = new HashMap<>();
         response.put("token", token);
@@ -59,11 +56,12 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest request) {
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
         );
 
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
+        // The authenticated principal already carries id and role; no second user lookup
+        final UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         final String token = jwtUtil.generateToken(userDetails);
 
         Map<String, String> response = new HashMap<>();
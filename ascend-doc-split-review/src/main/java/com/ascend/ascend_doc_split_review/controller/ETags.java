@@ -0,0 +1,52 @@
+package com.ascend.ascend_doc_split_review.controller;
+
+import com.ascend.ascend_doc_split_review.dto.LayoutView;
+import com.ascend.ascend_doc_split_review.service.PreconditionFailedException;
+
+/**
+ * Strong ETags derived from entity @Version columns, e.g. {@code "3"}, or {@code "3-summary"} for a partial view.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * The full view keeps the plain version; the other views are different representations of the same
+     * version, so they get their own tag and a 304 for one view is never sent for another.
+     */
+    static String of(Long version, LayoutView view) {
+        return view == LayoutView.FULL ? of(version) : "\"" + version + "-" + view.name().toLowerCase() + "\"";
+    }
+
+    /**
+     * Parses an If-Match header into the expected version.
+     *
+     * @return null when the header is absent or {@code *} (no precondition)
+     * @throws PreconditionFailedException for weak or unparseable tags, which can never match a strong ETag
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            String value = tag.substring(1, tag.length() - 1);
+            // A tag from a partial view names the same version
+            int view = value.indexOf('-');
+            if (view > 0) {
+                value = value.substring(0, view);
+            }
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException ignored) {
+                // fall through
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + ifMatch + " does not match the current ETag");
+    }
+}
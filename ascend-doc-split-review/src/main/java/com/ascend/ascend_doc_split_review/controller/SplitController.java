@@ -1,8 +1,8 @@
 package com.ascend.ascend_doc_split_review.controller;
 
 import com.ascend.ascend_doc_split_review.dto.*;
+import com.ascend.ascend_doc_split_review.entity.FinalizeJob;
 import com.ascend.ascend_doc_split_review.entity.SplitPart;
-import com.ascend.ascend_doc_split_review.entity.Page;
 import com.ascend.ascend_doc_split_review.entity.OriginalDocument;
 import com.ascend.ascend_doc_split_review.repository.OriginalDocumentRepository;
 import com.ascend.ascend_doc_split_review.repository.SplitPartRepository;
@@ -12,15 +12,37 @@ import com.ascend.ascend_doc_split_review.service.SplitPartService;
 import com.ascend.ascend_doc_split_review.service.PageService;
 import com.ascend.ascend_doc_split_review.service.OriginalDocumentService;
 import com.ascend.ascend_doc_split_review.service.MockDownloadService;
+import com.ascend.ascend_doc_split_review.service.PdfStorageService;
+import com.ascend.ascend_doc_split_review.service.SplitPdfAssembler;
+import com.ascend.ascend_doc_split_review.service.DocumentIngestionService;
+import com.ascend.ascend_doc_split_review.service.DocumentChangeBroadcaster;
+import com.ascend.ascend_doc_split_review.service.DocumentUploadService;
+import com.ascend.ascend_doc_split_review.service.FinalizeJobService;
+import com.ascend.ascend_doc_split_review.service.SplitLayoutService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -51,61 +73,190 @@ public class SplitController {
     @Autowired
     private MockDownloadService mockDownloadService;
 
+    @Autowired
+    private PdfStorageService pdfStorageService;
+
+    @Autowired
+    private SplitPdfAssembler splitPdfAssembler;
+
+    @Autowired
+    private DocumentIngestionService documentIngestionService;
+
+    @Autowired
+    private DocumentUploadService documentUploadService;
+
+    @Autowired
+    private FinalizeJobService finalizeJobService;
+
+    @Autowired
+    private DocumentChangeBroadcaster documentChangeBroadcaster;
+
+    @Autowired
+    private SplitLayoutService splitLayoutService;
+
     @Autowired
     private MeterRegistry meterRegistry;
 
     // Get split (split part) by id
     @GetMapping("/splits/{id}")
-    public ResponseEntity<SplitPartResponse> getSplit(@PathVariable Long id, Authentication auth) {
+    public ResponseEntity<SplitPartResponse> getSplit(@PathVariable Long id,
+                                                      @RequestParam(value = "view", defaultValue = "full") String view,
+                                                      Authentication auth, WebRequest webRequest) {
         UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
         logger.info("User {} requesting split {}", userPrincipal.getUsername(), id);
         meterRegistry.counter("api.split.get").increment();
-        Optional<SplitPart> spOpt = splitPartRepository.findById(id);
-        if (spOpt.isPresent() && spOpt.get().getOriginalDocument().getUser().getId().equals(userPrincipal.getUser().getId())) {
-            return ResponseEntity.ok(SplitPartResponse.fromEntity(spOpt.get()));
+        LayoutView layoutView = LayoutView.fromParam(view);
+        // Projection of the split part columns, scoped to the caller; pages are read only when the view needs them
+        Optional<SplitPartResponse> summary = splitPartRepository.findResponseByIdAndUserId(id, userPrincipal.getId());
+        if (summary.isEmpty()) {
+            return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.notFound().build();
+        String etag = ETags.of(summary.get().getVersion(), layoutView);
+        if (webRequest.checkNotModified(etag)) {
+            // 304 Not Modified; pages are not loaded
+            return null;
+        }
+        if (layoutView == LayoutView.FULL) {
+            return splitPartService.getResponse(id)
+                    .map(response -> ResponseEntity.ok().eTag(ETags.of(response.getVersion())).body(response))
+                    .orElse(ResponseEntity.notFound().build());
+        }
+        if (layoutView == LayoutView.PAGES) {
+            summary.get().setPages(pageRepository.findResponsesBySplitPartId(id));
+        }
+        return ResponseEntity.ok().eTag(etag).body(summary.get());
+    }
+
+    @GetMapping("/documents")
+    public ResponseEntity<DocumentListResponse> listDocuments(@RequestParam(value = "status", required = false) OriginalDocument.Status status,
+                                                              @RequestParam(value = "cursor", required = false) String cursor,
+                                                              @RequestParam(value = "size", defaultValue = "20") int size,
+                                                              Authentication auth) {
+        UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
+        meterRegistry.counter("api.document.list").increment();
+        return ResponseEntity.ok(originalDocumentService.listSummaries(userPrincipal.getId(), status, cursor, size));
+    }
+
+    // Bulk ingestion of AI split results: one original document per NDJSON line, owned by the caller
+    @PostMapping(value = "/documents/ingest", consumes = {"application/x-ndjson", "application/json"})
+    public ResponseEntity<IngestResponse> ingestDocuments(InputStream body, Authentication auth) throws IOException {
+        UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
+        meterRegistry.counter("api.document.ingest").increment();
+        IngestResponse response = documentIngestionService.ingest(userPrincipal.getId(), body);
+        logger.info("User {} ingested {} documents ({} split parts, {} pages), {} rejected", userPrincipal.getUsername(),
+                response.getDocuments(), response.getSplitParts(), response.getPages(), response.getFailed());
+        return ResponseEntity.ok(response);
+    }
+
+    // Upload an original PDF: pages and their text are extracted into a single split part covering the document
+    @PostMapping(value = "/documents/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<DocumentSummaryResponse> uploadDocument(@RequestParam("file") MultipartFile file, Authentication auth) throws IOException {
+        UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
+        meterRegistry.counter("api.document.upload").increment();
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Uploaded file is empty");
+        }
+        String filename = StringUtils.hasText(file.getOriginalFilename()) ? StringUtils.getFilename(file.getOriginalFilename()) : "upload.pdf";
+        OriginalDocument doc;
+        try (InputStream in = file.getInputStream()) {
+            doc = documentUploadService.upload(userPrincipal.getId(), filename, in);
+        }
+        logger.info("User {} uploaded {} as document {}", userPrincipal.getUsername(), filename, doc.getId());
+        return ResponseEntity.created(URI.create("/api/documents/" + doc.getId()))
+                .body(DocumentSummaryResponse.fromEntity(doc));
+    }
+
+    // Change feed for review screens: one "change" event per committed edit instead of polling the full layout
+    @GetMapping(value = "/documents/{documentId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> documentEvents(@PathVariable Long documentId, Authentication auth) throws IOException {
+        UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
+        meterRegistry.counter("api.document.events").increment();
+        Optional<Long> version = originalDocumentService.getVersion(documentId, userPrincipal.getId());
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        logger.info("User {} subscribed to changes of document {}", userPrincipal.getUsername(), documentId);
+        return ResponseEntity.ok(documentChangeBroadcaster.subscribe(documentId, version.get()));
+    }
+
+    // Delta sync: only split parts created, changed or deleted since the token from the previous call
+    @GetMapping("/documents/{documentId}/changes")
+    public ResponseEntity<DocumentChangesResponse> getDocumentChanges(@PathVariable Long documentId,
+                                                                      @RequestParam(value = "since", required = false) String since,
+                                                                      Authentication auth) {
+        UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
+        meterRegistry.counter("api.document.changes").increment();
+        return originalDocumentService.getChanges(documentId, userPrincipal.getId(), since)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/documents/{documentId}")
-    public ResponseEntity<OriginalDocumentResponse> getDocument(@PathVariable Long documentId, Authentication auth) {
+    public ResponseEntity<OriginalDocumentResponse> getDocument(@PathVariable Long documentId,
+                                                                @RequestParam(value = "view", defaultValue = "full") String view,
+                                                                Authentication auth, WebRequest webRequest) {
         UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
         logger.info("User {} requesting document {}", userPrincipal.getUsername(), documentId);
         meterRegistry.counter("api.document.get").increment();
-        Optional<OriginalDocument> docOpt = originalDocumentService.getById(documentId);
-        if (docOpt.isPresent() && docOpt.get().getUser().getId().equals(userPrincipal.getUser().getId())) {
-            logger.info("Document {} retrieved successfully", documentId);
-            return ResponseEntity.ok(OriginalDocumentResponse.fromEntity(docOpt.get()));
+        LayoutView layoutView = LayoutView.fromParam(view);
+        // Revalidation needs only the version column; the layout is loaded when it changed
+        Optional<Long> version = originalDocumentService.getVersion(documentId, userPrincipal.getId());
+        if (version.isPresent() && webRequest.checkNotModified(ETags.of(version.get(), layoutView))) {
+            logger.info("Document {} not modified", documentId);
+            return null;
+        }
+        // The version lookup is scoped to the caller, so a present version also proves ownership
+        Optional<OriginalDocumentResponse> response = version.isPresent() ? originalDocumentService.getResponse(documentId, layoutView) : Optional.empty();
+        if (response.isPresent()) {
+            logger.info("Document {} retrieved successfully ({} view)", documentId, layoutView);
+            return ResponseEntity.ok()
+                    .eTag(ETags.of(response.get().getVersion(), layoutView))
+                    .body(response.get());
         }
         logger.warn("Document {} not found or access denied for user {}", documentId, userPrincipal.getUsername());
         return ResponseEntity.notFound().build();
     }
 
     @PatchMapping("/split-parts/{id}")
-    public ResponseEntity<SplitPartResponse> updateSplitPart(@PathVariable Long id, @Valid @RequestBody UpdateSplitPartRequest request, Authentication auth) {
+    public ResponseEntity<SplitPartResponse> updateSplitPart(@PathVariable Long id, @Valid @RequestBody UpdateSplitPartRequest request,
+                                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                             Authentication auth) {
         meterRegistry.counter("api.splitpart.update").increment();
-        SplitPart updated = splitPartService.updateSplitPart(id, request.getName(), request.getClassification(), request.getFilename());
-        return ResponseEntity.ok(SplitPartResponse.fromEntity(updated));
+        splitPartService.updateSplitPart(id, request.getName(), request.getClassification(), request.getFilename(),
+                ETags.parseIfMatch(ifMatch));
+        return splitPartResponse(id);
     }
 
     // Alias: Update document (split part) metadata
     @PatchMapping("/document/{id}")
-    public ResponseEntity<SplitPartResponse> updateDocument(@PathVariable Long id, @Valid @RequestBody UpdateSplitPartRequest request, Authentication auth) {
+    public ResponseEntity<SplitPartResponse> updateDocument(@PathVariable Long id, @Valid @RequestBody UpdateSplitPartRequest request,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                            Authentication auth) {
         meterRegistry.counter("api.document.update").increment();
-        SplitPart updated = splitPartService.updateSplitPart(id, request.getName(), request.getClassification(), request.getFilename());
-        return ResponseEntity.ok(SplitPartResponse.fromEntity(updated));
+        splitPartService.updateSplitPart(id, request.getName(), request.getClassification(), request.getFilename(),
+                ETags.parseIfMatch(ifMatch));
+        return splitPartResponse(id);
+    }
+
+    // Full view of a split part after a change, read in its own transaction
+    private ResponseEntity<SplitPartResponse> splitPartResponse(Long id) {
+        return splitPartService.getResponse(id)
+                .map(response -> ResponseEntity.ok().eTag(ETags.of(response.getVersion())).body(response))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping("/pages/move")
-    public ResponseEntity<?> movePages(@Valid @RequestBody MovePagesRequest request, Authentication auth) {
+    public ResponseEntity<?> movePages(@Valid @RequestBody MovePagesRequest request,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                       Authentication auth) {
         UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
         logger.info("User {} moving pages {} to splitPart {}", userPrincipal.getUsername(), request.getPageIds(), request.getTargetSplitPartId());
         meterRegistry.counter("api.pages.move").increment();
-        Optional<SplitPart> targetOpt = splitPartRepository.findById(request.getTargetSplitPartId());
+        Optional<SplitPart> targetOpt = splitPartRepository.findWithDocumentById(request.getTargetSplitPartId());
         if (targetOpt.isPresent()) {
             SplitPart target = targetOpt.get();
             // Ownership check
-            if (!target.getOriginalDocument().getUser().getId().equals(userPrincipal.getUser().getId())) {
+            if (!target.getOriginalDocument().getUser().getId().equals(userPrincipal.getId())) {
                 logger.warn("Access denied for user {} to target splitPart {}", userPrincipal.getUsername(), target.getId());
                 return ResponseEntity.status(403).build();
             }
@@ -113,7 +264,8 @@ public class SplitController {
                 logger.warn("Attempt to modify finalized document {}", target.getOriginalDocument().getId());
                 return ResponseEntity.badRequest().body("Cannot modify a finalized document");
             }
-            pageService.movePagesToSplitPart(request.getPageIds(), target);
+            // If-Match refers to the original document's ETag: the move changes its layout
+            pageService.movePagesToSplitPart(request.getPageIds(), target, ETags.parseIfMatch(ifMatch));
             logger.info("Pages moved successfully");
             return ResponseEntity.ok().build();
         }
@@ -121,19 +273,104 @@ public class SplitController {
         return ResponseEntity.notFound().build();
     }
 
+    @PostMapping("/pages/move/batch")
+    public ResponseEntity<?> movePagesBatch(@Valid @RequestBody BatchMovePagesRequest request,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                            Authentication auth) {
+        UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
+        logger.info("User {} applying {} page moves to document {}", userPrincipal.getUsername(), request.getMoves().size(), request.getOriginalDocumentId());
+        meterRegistry.counter("api.pages.move_batch").increment();
+        Optional<OriginalDocument> docOpt = originalDocumentRepository.findById(request.getOriginalDocumentId());
+        if (docOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!docOpt.get().getUser().getId().equals(userPrincipal.getId())) {
+            logger.warn("Access denied for user {} to document {}", userPrincipal.getUsername(), request.getOriginalDocumentId());
+            return ResponseEntity.status(403).build();
+        }
+        pageService.applyMoves(docOpt.get(), request.getMoves(), ETags.parseIfMatch(ifMatch));
+        logger.info("Batch of {} page moves applied to document {}", request.getMoves().size(), request.getOriginalDocumentId());
+        return ResponseEntity.ok().build();
+    }
+
+    // Compact layout: segment start pages and the split part owning each segment
+    @GetMapping("/documents/{documentId}/layout")
+    public ResponseEntity<SplitLayoutResponse> getLayout(@PathVariable Long documentId, Authentication auth, WebRequest webRequest) {
+        UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
+        meterRegistry.counter("api.layout.get").increment();
+        Optional<Long> version = originalDocumentService.getVersion(documentId, userPrincipal.getId());
+        if (version.isPresent() && webRequest.checkNotModified(ETags.of(version.get()))) {
+            return null;
+        }
+        return layoutResponse(documentId, userPrincipal);
+    }
+
+    // Boundary edits: If-Match refers to the original document's ETag, like page moves
+    @PostMapping("/documents/{documentId}/layout/move-boundary")
+    public ResponseEntity<SplitLayoutResponse> moveBoundary(@PathVariable Long documentId, @Valid @RequestBody MoveBoundaryRequest request,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                            Authentication auth) {
+        UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
+        logger.info("User {} moving the boundary at page {} to page {} in document {}", userPrincipal.getUsername(),
+                request.getBoundaryPage(), request.getNewBoundaryPage(), documentId);
+        meterRegistry.counter("api.layout.move_boundary").increment();
+        if (originalDocumentService.getVersion(documentId, userPrincipal.getId()).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        splitLayoutService.moveBoundary(documentId, request.getBoundaryPage(), request.getNewBoundaryPage(), ETags.parseIfMatch(ifMatch));
+        return layoutResponse(documentId, userPrincipal);
+    }
+
+    @PostMapping("/documents/{documentId}/layout/split")
+    public ResponseEntity<SplitLayoutResponse> splitAtPage(@PathVariable Long documentId, @Valid @RequestBody SplitAtPageRequest request,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                           Authentication auth) {
+        UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
+        meterRegistry.counter("api.layout.split").increment();
+        if (originalDocumentService.getVersion(documentId, userPrincipal.getId()).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Long splitPartId = splitLayoutService.splitAt(documentId, request.getPage(), request.getName(), request.getClassification(),
+                request.getFilename(), ETags.parseIfMatch(ifMatch));
+        logger.info("User {} split document {} at page {} into new split part {}", userPrincipal.getUsername(), documentId,
+                request.getPage(), splitPartId);
+        return layoutResponse(documentId, userPrincipal);
+    }
+
+    @PostMapping("/documents/{documentId}/layout/merge")
+    public ResponseEntity<SplitLayoutResponse> mergeSplitParts(@PathVariable Long documentId, @Valid @RequestBody MergeSplitPartsRequest request,
+                                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                               Authentication auth) {
+        UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
+        logger.info("User {} merging split part {} into {} in document {}", userPrincipal.getUsername(),
+                request.getAdjacentSplitPartId(), request.getSplitPartId(), documentId);
+        meterRegistry.counter("api.layout.merge").increment();
+        if (originalDocumentService.getVersion(documentId, userPrincipal.getId()).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        splitLayoutService.merge(documentId, request.getSplitPartId(), request.getAdjacentSplitPartId(), ETags.parseIfMatch(ifMatch));
+        return layoutResponse(documentId, userPrincipal);
+    }
+
+    private ResponseEntity<SplitLayoutResponse> layoutResponse(Long documentId, UserPrincipal userPrincipal) {
+        return splitLayoutService.getLayout(documentId, userPrincipal.getId())
+                .map(layout -> ResponseEntity.ok().eTag(ETags.of(layout.getVersion())).body(layout))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     // Alias: Create document (split part) with page IDs and metadata
     @PostMapping("/document")
     public ResponseEntity<SplitPartResponse> createDocument(@Valid @RequestBody CreateSplitPartRequest request, Authentication auth) {
         UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
         meterRegistry.counter("api.document.create").increment();
         Optional<OriginalDocument> docOpt = originalDocumentRepository.findById(request.getOriginalDocumentId());
-        if (docOpt.isPresent() && docOpt.get().getUser().getId().equals(userPrincipal.getUser().getId())) {
+        if (docOpt.isPresent() && docOpt.get().getUser().getId().equals(userPrincipal.getId())) {
             if (docOpt.get().getStatus() == OriginalDocument.Status.FINALIZED) {
                 return ResponseEntity.badRequest().body(null);
             }
-            List<Page> pages = pageRepository.findByIdIn(request.getPageIds());
-            SplitPart sp = splitPartService.createSplitPart(docOpt.get(), request.getName(), request.getClassification(), request.getFilename(), pages);
-            return ResponseEntity.ok(SplitPartResponse.fromEntity(sp));
+            SplitPart sp = splitPartService.createSplitPart(docOpt.get().getId(), request.getName(), request.getClassification(),
+                    request.getFilename(), request.getPageIds());
+            return splitPartService.getResponse(sp.getId()).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
         }
         return ResponseEntity.notFound().build();
     }
@@ -143,73 +380,138 @@ public class SplitController {
         UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
         meterRegistry.counter("api.splitpart.create").increment();
         Optional<OriginalDocument> docOpt = originalDocumentRepository.findById(request.getOriginalDocumentId());
-        if (docOpt.isPresent() && docOpt.get().getUser().getId().equals(userPrincipal.getUser().getId())) {
+        if (docOpt.isPresent() && docOpt.get().getUser().getId().equals(userPrincipal.getId())) {
             if (docOpt.get().getStatus() == OriginalDocument.Status.FINALIZED) {
                 return ResponseEntity.badRequest().body(null);
             }
-            List<Page> pages = pageRepository.findByIdIn(request.getPageIds());
-            SplitPart sp = splitPartService.createSplitPart(docOpt.get(), request.getName(), request.getClassification(), request.getFilename(), pages);
-            return ResponseEntity.ok(SplitPartResponse.fromEntity(sp));
+            SplitPart sp = splitPartService.createSplitPart(docOpt.get().getId(), request.getName(), request.getClassification(),
+                    request.getFilename(), request.getPageIds());
+            return splitPartService.getResponse(sp.getId()).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
         }
         return ResponseEntity.notFound().build();
     }
 
     @DeleteMapping("/split-parts/{id}")
-    public ResponseEntity<?> deleteSplitPart(@PathVariable Long id, @RequestParam(value = "reassignTo", required = false) Long reassignTo, Authentication auth) {
+    public ResponseEntity<?> deleteSplitPart(@PathVariable Long id, @RequestParam(value = "reassignTo", required = false) Long reassignTo,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                             Authentication auth) {
         meterRegistry.counter("api.splitpart.delete").increment();
         UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
-        Optional<SplitPart> spOpt = splitPartRepository.findById(id);
+        Optional<SplitPart> spOpt = splitPartRepository.findWithDocumentById(id);
         if (spOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
         SplitPart sp = spOpt.get();
-        if (!sp.getOriginalDocument().getUser().getId().equals(userPrincipal.getUser().getId())) {
+        if (!sp.getOriginalDocument().getUser().getId().equals(userPrincipal.getId())) {
             return ResponseEntity.status(403).build();
         }
-        splitPartService.deleteSplitPart(id, reassignTo);
+        splitPartService.deleteSplitPart(id, reassignTo, ETags.parseIfMatch(ifMatch));
         return ResponseEntity.ok().build();
     }
 
     // Alias: Delete document (split part)
     @DeleteMapping("/document/{id}")
-    public ResponseEntity<?> deleteDocument(@PathVariable Long id, @RequestParam(value = "reassignTo", required = false) Long reassignTo, Authentication auth) {
+    public ResponseEntity<?> deleteDocument(@PathVariable Long id, @RequestParam(value = "reassignTo", required = false) Long reassignTo,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                            Authentication auth) {
         meterRegistry.counter("api.document.delete").increment();
-        return deleteSplitPart(id, reassignTo, auth);
+        return deleteSplitPart(id, reassignTo, ifMatch, auth);
     }
 
     @PostMapping("/split-parts/{id}/finalize")
     public ResponseEntity<SplitPartResponse> finalizeSplitPart(@PathVariable Long id, Authentication auth) {
         UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
         meterRegistry.counter("api.splitpart.finalize").increment();
-        Optional<SplitPart> spOpt = splitPartRepository.findById(id);
-        if (spOpt.isPresent() && spOpt.get().getOriginalDocument().getUser().getId().equals(userPrincipal.getUser().getId())) {
-            SplitPart finalized = splitPartService.finalizeSplitPart(id);
-            return ResponseEntity.ok(SplitPartResponse.fromEntity(finalized));
+        Optional<SplitPart> spOpt = splitPartRepository.findWithDocumentById(id);
+        if (spOpt.isPresent() && spOpt.get().getOriginalDocument().getUser().getId().equals(userPrincipal.getId())) {
+            splitPartService.finalizeSplitPart(id);
+            return splitPartService.getResponse(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
         }
         return ResponseEntity.notFound().build();
     }
+    // Locks the document and renders its split PDFs in the background; poll the returned job for progress
     @PostMapping("/documents/{documentId}/finalize")
-    public ResponseEntity<OriginalDocumentResponse> finalizeDocument(@PathVariable Long documentId, Authentication auth) {
+    public ResponseEntity<JobResponse> finalizeDocument(@PathVariable Long documentId, Authentication auth) {
         UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
         meterRegistry.counter("api.document.finalize").increment();
         Optional<OriginalDocument> docOpt = originalDocumentRepository.findById(documentId);
-        if (docOpt.isPresent() && docOpt.get().getUser().getId().equals(userPrincipal.getUser().getId())) {
-            OriginalDocument finalized = originalDocumentService.finalizeDocument(documentId);
-            return ResponseEntity.ok(OriginalDocumentResponse.fromEntity(finalized));
+        if (docOpt.isPresent() && docOpt.get().getUser().getId().equals(userPrincipal.getId())) {
+            FinalizeJob job = finalizeJobService.submit(documentId);
+            logger.info("User {} finalizing document {} as job {}", userPrincipal.getUsername(), documentId, job.getId());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/jobs/" + job.getId()))
+                    .body(JobResponse.fromEntity(job));
         }
         return ResponseEntity.notFound().build();
     }
 
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<JobResponse> getJob(@PathVariable Long id, Authentication auth) {
+        UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
+        meterRegistry.counter("api.job.get").increment();
+        return finalizeJobService.getJob(id, userPrincipal.getId())
+                .map(job -> ResponseEntity.ok(JobResponse.fromEntity(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/documents/{id}/download")
-    public ResponseEntity<byte[]> downloadDocument(@PathVariable Long id, Authentication auth) {
+    public ResponseEntity<StreamingResponseBody> downloadDocument(@PathVariable Long id, Authentication auth) throws IOException {
         UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
         logger.info("User {} downloading document {}", userPrincipal.getUsername(), id);
         meterRegistry.counter("api.document.download").increment();
-        byte[] pdfContent = mockDownloadService.getMockFile(id);
+        Optional<OriginalDocument> docOpt = originalDocumentRepository.findById(id);
+        if (docOpt.isEmpty() || !docOpt.get().getUser().getId().equals(userPrincipal.getId())) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<Path> source = pdfStorageService.findOriginal(id);
+        StreamingResponseBody body;
+        if (source.isPresent()) {
+            // Current layout: every split part's pages, in page order
+            List<SplitPdfAssembler.PageRange> ranges = splitPartRepository.findByOriginalDocumentId(id).stream()
+                    .filter(sp -> sp.getFromPage() != null && sp.getToPage() != null)
+                    .sorted(Comparator.comparing(SplitPart::getFromPage))
+                    .map(sp -> new SplitPdfAssembler.PageRange(sp.getFromPage(), sp.getToPage()))
+                    .toList();
+            // Opened and checked now, so a bad range is a 400 rather than a truncated 200
+            body = splitPdfAssembler.prepare(source.get(), ranges)::writeTo;
+        } else {
+            // No stored original: fall back to the generated mock PDF
+            byte[] pdfContent = mockDownloadService.getMockFile(id);
+            body = out -> out.write(pdfContent);
+        }
+        return pdfResponse("document_" + id + ".pdf", body);
+    }
+
+    @GetMapping("/splits/{id}/download")
+    public ResponseEntity<StreamingResponseBody> downloadSplit(@PathVariable Long id, Authentication auth) throws IOException {
+        UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
+        logger.info("User {} downloading split {}", userPrincipal.getUsername(), id);
+        meterRegistry.counter("api.split.download").increment();
+        Optional<SplitPart> spOpt = splitPartRepository.findWithDocumentById(id);
+        if (spOpt.isEmpty() || !spOpt.get().getOriginalDocument().getUser().getId().equals(userPrincipal.getId())) {
+            return ResponseEntity.notFound().build();
+        }
+        SplitPart sp = spOpt.get();
+        // Rendered when the document was finalized
+        Optional<Path> rendered = pdfStorageService.findSplit(sp.getOriginalDocument().getId(), id);
+        if (rendered.isPresent()) {
+            return pdfResponse(sp.getFilename(), out -> Files.copy(rendered.get(), out));
+        }
+        if (sp.getFromPage() == null || sp.getToPage() == null) {
+            throw new IllegalArgumentException("Split part " + id + " has no pages");
+        }
+        Path source = pdfStorageService.findOriginal(sp.getOriginalDocument().getId())
+                .orElseThrow(() -> new RuntimeException("Source PDF not available for split part " + id));
+        List<SplitPdfAssembler.PageRange> ranges = List.of(new SplitPdfAssembler.PageRange(sp.getFromPage(), sp.getToPage()));
+        // Opened and checked before the response is committed, like the document download
+        return pdfResponse(sp.getFilename(), splitPdfAssembler.prepare(source, ranges)::writeTo);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> pdfResponse(String filename, StreamingResponseBody body) {
         return ResponseEntity.ok()
                 .header("Content-Type", "application/pdf")
-                .header("Content-Disposition", "attachment; filename=\"document_" + id + ".pdf\"")
-                .body(pdfContent);
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename, StandardCharsets.UTF_8).build().toString())
+                .body(body);
     }
 
     @DeleteMapping("/documents/{id}")
@@ -221,7 +523,7 @@ public class SplitController {
             return ResponseEntity.notFound().build();
         }
         OriginalDocument doc = docOpt.get();
-        if (!doc.getUser().getId().equals(userPrincipal.getUser().getId())) {
+        if (!doc.getUser().getId().equals(userPrincipal.getId())) {
             return ResponseEntity.status(403).build();
         }
         if (doc.getStatus() == OriginalDocument.Status.FINALIZED) {
@@ -0,0 +1,76 @@
+package com.ascend.ascend_doc_split_review.controller;
+
+import com.ascend.ascend_doc_split_review.config.SqlStatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements run for each request (see {@link SqlStatementCounter}).
+ * <p>
+ * The count is returned in the {@value #HEADER} response header (set by {@link SqlCountHeaderAdvice} just before
+ * a body is written, or here for responses without a body) and recorded as the {@code sql.statements}
+ * distribution, tagged with method and uri pattern. Requests running more statements than their budget log a
+ * warning: {@code sql.budget.endpoints} maps {@code "METHOD /uri/pattern"} to a budget, every other endpoint gets
+ * {@code sql.budget.default}.
+ * <p>
+ * The count is per thread, so it only covers work done on the request thread. Streaming downloads and the SSE
+ * event stream go async and do their work on other threads after this filter returns; for those requests
+ * nothing is recorded and no budget is checked, since the count would miss exactly the statements that matter.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Count";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sql.budget.default}")
+    private int defaultBudget;
+
+    @Value("#{${sql.budget.endpoints}}")
+    private Map<String, Integer> endpointBudgets;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long count = SqlStatementCounter.stop();
+            if (request.isAsyncStarted()) {
+                return;
+            }
+            if (!response.isCommitted()) {
+                response.setHeader(HEADER, Long.toString(count));
+            }
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            meterRegistry.summary("sql.statements", "method", request.getMethod(), "uri", uri).record(count);
+            String endpoint = request.getMethod() + " " + uri;
+            int budget = endpointBudgets.getOrDefault(endpoint, defaultBudget);
+            if (count > budget) {
+                log.warn("{} ran {} SQL statements, over its budget of {}", endpoint, count, budget);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ascend.ascend_doc_split_review.controller;
+
+import com.ascend.ascend_doc_split_review.config.SqlStatementCounter;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the {@value SqlBudgetFilter#HEADER} header while headers can still be written: once the body is written the
+ * response is committed and {@link SqlBudgetFilter} can no longer set it.
+ */
+@ControllerAdvice
+public class SqlCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        long count = SqlStatementCounter.current();
+        if (count >= 0) {
+            response.getHeaders().set(SqlBudgetFilter.HEADER, Long.toString(count));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,35 @@
+package com.ascend.ascend_doc_split_review.db.migration;
+
+import com.ascend.ascend_doc_split_review.entity.IdGeneration;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Replaces identity columns with pooled sequences so Hibernate can batch inserts.
+ * <p>
+ * Each sequence starts one allocation block above the current maximum id: the pooled optimizer uses ids
+ * V-49..V for a sequence value V, so a lower start would hand out ids that already exist.
+ */
+public class V2__SequenceIds extends BaseJavaMigration {
+
+    private static final String[] TABLES = {"users", "original_documents", "split_parts", "pages"};
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : TABLES) {
+                long maxId;
+                try (ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) from " + table)) {
+                    rs.next();
+                    maxId = rs.getLong(1);
+                }
+                statement.execute("alter table " + table + " alter column id drop identity");
+                statement.execute("create sequence " + table + "_seq start with " + (maxId + IdGeneration.ALLOCATION_SIZE)
+                        + " increment by " + IdGeneration.ALLOCATION_SIZE);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ascend.ascend_doc_split_review.db.migration;
+
+import com.ascend.ascend_doc_split_review.entity.CompressedTextConverter;
+import com.ascend.ascend_doc_split_review.entity.IdGeneration;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Moves page text from {@code pages.content} into compressed {@code page_contents} rows referenced by
+ * {@code pages.content_id}. Compression happens here because SQL cannot produce the converter's format.
+ */
+public class V6__PageContents extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table page_contents (id bigint not null, text binary large object not null, primary key (id))");
+            statement.execute("alter table pages add column content_id bigint");
+            statement.execute("alter table pages add constraint uk_pages_content unique (content_id)");
+            statement.execute("alter table pages add constraint fk_pages_content foreign key (content_id) references page_contents");
+
+            long contentId = 0;
+            try (Statement select = connection.createStatement();
+                 ResultSet rs = select.executeQuery("select id, content from pages where content is not null");
+                 PreparedStatement insert = connection.prepareStatement("insert into page_contents (id, text) values (?, ?)");
+                 PreparedStatement update = connection.prepareStatement("update pages set content_id = ? where id = ?")) {
+                int pending = 0;
+                while (rs.next()) {
+                    contentId++;
+                    insert.setLong(1, contentId);
+                    insert.setBytes(2, CompressedTextConverter.compress(rs.getString(2)));
+                    insert.addBatch();
+                    update.setLong(1, contentId);
+                    update.setLong(2, rs.getLong(1));
+                    update.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        insert.executeBatch();
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    insert.executeBatch();
+                    update.executeBatch();
+                }
+            }
+
+            statement.execute("alter table pages drop column content");
+            // One allocation block above the ids used here, as in V2
+            statement.execute("create sequence page_contents_seq start with " + (contentId + IdGeneration.ALLOCATION_SIZE)
+                    + " increment by " + IdGeneration.ALLOCATION_SIZE);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.ascend.ascend_doc_split_review.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+@Data
+public class BatchMovePagesRequest {
+    @NotNull
+    private Long originalDocumentId;
+    // Applied in order; only the final layout has to be contiguous
+    @NotEmpty
+    private List<@Valid MovePagesRequest> moves;
+}
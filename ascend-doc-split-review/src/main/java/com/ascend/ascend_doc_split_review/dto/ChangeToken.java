@@ -0,0 +1,26 @@
+package com.ascend.ascend_doc_split_review.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Delta sync position: the document version a client has seen. Serialized as an opaque URL-safe token that
+ * is only valid for its own document.
+ */
+public record ChangeToken(Long documentId, long version) {
+
+    public String encode() {
+        String raw = documentId + "|" + version;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new ChangeToken(Long.parseLong(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid change token");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ascend.ascend_doc_split_review.dto;
+
+import com.ascend.ascend_doc_split_review.entity.OriginalDocument;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Delta of a document since a change token; without a token, splitParts holds the whole layout
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentChangesResponse {
+    private Long documentId;
+    private OriginalDocument.Status status;
+    private Long version;
+    // Pass as ?since= on the next call
+    private String token;
+    // Created or changed split parts, with their current pages
+    private List<SplitPartResponse> splitParts;
+    private List<Long> deletedSplitPartIds;
+}
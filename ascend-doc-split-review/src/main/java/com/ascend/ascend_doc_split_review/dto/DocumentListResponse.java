@@ -0,0 +1,16 @@
+package com.ascend.ascend_doc_split_review.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentListResponse {
+    private List<DocumentSummaryResponse> items;
+    // Opaque keyset cursor for the next page; null on the last page
+    private String nextCursor;
+}
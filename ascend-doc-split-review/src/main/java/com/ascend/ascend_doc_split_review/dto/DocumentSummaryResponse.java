@@ -0,0 +1,24 @@
+package com.ascend.ascend_doc_split_review.dto;
+
+import com.ascend.ascend_doc_split_review.entity.OriginalDocument;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Listing row: document columns only, no split parts or pages
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSummaryResponse {
+    private Long id;
+    private String originalFilename;
+    private OriginalDocument.Status status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static DocumentSummaryResponse fromEntity(OriginalDocument doc) {
+        return new DocumentSummaryResponse(doc.getId(), doc.getOriginalFilename(), doc.getStatus(), doc.getCreatedAt(), doc.getUpdatedAt());
+    }
+}
@@ -0,0 +1,29 @@
+package com.ascend.ascend_doc_split_review.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class IngestResponse {
+    private int documents;
+    private int splitParts;
+    private long pages;
+    private int failed;
+    // Only the first failures are listed; "failed" counts all of them
+    private List<IngestError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IngestError {
+        // 1-based position of the document in the stream and the line it starts on
+        private int record;
+        private int line;
+        private String message;
+    }
+}
@@ -0,0 +1,34 @@
+package com.ascend.ascend_doc_split_review.dto;
+
+import com.ascend.ascend_doc_split_review.entity.FinalizeJob;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class JobResponse {
+    private Long id;
+    private Long documentId;
+    private FinalizeJob.Status status;
+    // Split PDFs to render; null until the job has started
+    private Integer totalParts;
+    private Integer completedParts;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public static JobResponse fromEntity(FinalizeJob job) {
+        JobResponse response = new JobResponse();
+        response.setId(job.getId());
+        response.setDocumentId(job.getOriginalDocument().getId());
+        response.setStatus(job.getStatus());
+        response.setTotalParts(job.getTotalParts());
+        response.setCompletedParts(job.getCompletedParts());
+        response.setError(job.getError());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setStartedAt(job.getStartedAt());
+        response.setFinishedAt(job.getFinishedAt());
+        return response;
+    }
+}
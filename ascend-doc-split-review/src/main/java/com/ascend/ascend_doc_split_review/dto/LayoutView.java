@@ -0,0 +1,22 @@
+package com.ascend.ascend_doc_split_review.dto;
+
+/**
+ * How much of a document's layout a response carries ({@code ?view=summary|pages|full}).
+ */
+public enum LayoutView {
+    // Split part columns only; no Page rows are read
+    SUMMARY,
+    // Split parts with page ids and numbers, without page content
+    PAGES,
+    // Split parts with complete pages (the default)
+    FULL;
+
+    public static LayoutView fromParam(String view) {
+        for (LayoutView candidate : values()) {
+            if (candidate.name().equalsIgnoreCase(view)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("view must be one of summary, pages, full");
+    }
+}
@@ -0,0 +1,14 @@
+package com.ascend.ascend_doc_split_review.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class MergeSplitPartsRequest {
+    // Kept: ends up with the pages of both split parts
+    @NotNull
+    private Long splitPartId;
+    // Must be directly before or after splitPartId; deleted after the merge
+    @NotNull
+    private Long adjacentSplitPartId;
+}
@@ -0,0 +1,14 @@
+package com.ascend.ascend_doc_split_review.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class MoveBoundaryRequest {
+    // First page of the split part after the boundary
+    @NotNull
+    private Integer boundaryPage;
+    // Page that split part starts at afterwards; the pages in between change sides
+    @NotNull
+    private Integer newBoundaryPage;
+}
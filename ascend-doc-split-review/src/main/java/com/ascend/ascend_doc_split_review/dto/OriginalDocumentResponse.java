@@ -9,6 +9,8 @@ import java.util.List;
 @Data
 public class OriginalDocumentResponse {
     private Long id;
+    // Same value as the ETag; send it back in If-Match when modifying
+    private Long version;
     private String originalFilename;
     private OriginalDocument.Status status;
     private LocalDateTime createdAt;
@@ -16,13 +18,19 @@ public class OriginalDocumentResponse {
     private List<SplitPartResponse> splitParts;
 
     public static OriginalDocumentResponse fromEntity(OriginalDocument doc) {
+        return fromEntity(doc, doc.getSplitParts().stream().map(SplitPartResponse::fromEntity).toList());
+    }
+
+    // Document columns from the entity, split parts already mapped (summary and pages views)
+    public static OriginalDocumentResponse fromEntity(OriginalDocument doc, List<SplitPartResponse> splitParts) {
         OriginalDocumentResponse response = new OriginalDocumentResponse();
         response.setId(doc.getId());
+        response.setVersion(doc.getVersion());
         response.setOriginalFilename(doc.getOriginalFilename());
         response.setStatus(doc.getStatus());
         response.setCreatedAt(doc.getCreatedAt());
         response.setUpdatedAt(doc.getUpdatedAt());
-        response.setSplitParts(doc.getSplitParts().stream().map(SplitPartResponse::fromEntity).toList());
+        response.setSplitParts(splitParts);
         return response;
     }
 }
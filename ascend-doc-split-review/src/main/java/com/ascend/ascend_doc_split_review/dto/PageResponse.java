@@ -1,14 +1,25 @@
 package com.ascend.ascend_doc_split_review.dto;
 
 import com.ascend.ascend_doc_split_review.entity.Page;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 public class PageResponse {
     private Long id;
     private Integer pageNumber;
+    // Absent in the pages view
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String content;
 
+    // Pages view projection (PageRepository): no content
+    public PageResponse(Long id, Integer pageNumber) {
+        this.id = id;
+        this.pageNumber = pageNumber;
+    }
+
     public static PageResponse fromEntity(Page page) {
         PageResponse response = new PageResponse();
         response.setId(page.getId());
@@ -0,0 +1,15 @@
+package com.ascend.ascend_doc_split_review.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class SplitAtPageRequest {
+    // First page of the new split part; it takes the pages from here to the end of the split part containing it
+    @NotNull
+    private Integer page;
+    // Optional; copied from the split part being split when absent
+    private String name;
+    private String classification;
+    private String filename;
+}
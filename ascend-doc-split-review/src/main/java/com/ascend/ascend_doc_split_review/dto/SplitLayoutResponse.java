@@ -0,0 +1,20 @@
+package com.ascend.ascend_doc_split_review.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Compact layout of a document: segment i spans starts[i] up to the next start (or lastPage) and belongs to splitPartIds[i]
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SplitLayoutResponse {
+    private Long documentId;
+    private Long version;
+    private List<Integer> starts;
+    // null for pages between split parts that belong to none
+    private List<Long> splitPartIds;
+    private Integer lastPage;
+}
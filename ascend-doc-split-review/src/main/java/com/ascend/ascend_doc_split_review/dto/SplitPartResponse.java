@@ -1,14 +1,19 @@
 package com.ascend.ascend_doc_split_review.dto;
 
 import com.ascend.ascend_doc_split_review.entity.SplitPart;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
+@NoArgsConstructor
 public class SplitPartResponse {
     private Long id;
+    // Same value as the ETag; send it back in If-Match when modifying
+    private Long version;
     private String name;
     private String classification;
     private String filename;
@@ -16,11 +21,28 @@ public class SplitPartResponse {
     private LocalDateTime updatedAt;
     private Integer fromPage;
     private Integer toPage;
+    // Absent in the summary view
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<PageResponse> pages;
 
+    // Summary view projection (SplitPartRepository); pages are left unset
+    public SplitPartResponse(Long id, Long version, String name, String classification, String filename,
+                             LocalDateTime createdAt, LocalDateTime updatedAt, Integer fromPage, Integer toPage) {
+        this.id = id;
+        this.version = version;
+        this.name = name;
+        this.classification = classification;
+        this.filename = filename;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.fromPage = fromPage;
+        this.toPage = toPage;
+    }
+
     public static SplitPartResponse fromEntity(SplitPart splitPart) {
         SplitPartResponse response = new SplitPartResponse();
         response.setId(splitPart.getId());
+        response.setVersion(splitPart.getVersion());
         response.setName(splitPart.getName());
         response.setClassification(splitPart.getClassification());
         response.setFilename(splitPart.getFilename());
@@ -0,0 +1,56 @@
+package com.ascend.ascend_doc_split_review.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Background finalization of an original document: renders one PDF per split part.
+ * Rows outlive restarts; queued or running jobs are resumed at startup.
+ */
+@Entity
+@Table(name = "finalize_jobs", indexes = {
+        @Index(name = "idx_finalize_jobs_original_document", columnList = "original_document_id"),
+        @Index(name = "idx_finalize_jobs_status", columnList = "status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinalizeJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "finalize_jobs_seq")
+    @SequenceGenerator(name = "finalize_jobs_seq", sequenceName = "finalize_jobs_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "original_document_id", nullable = false)
+    private OriginalDocument originalDocument;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.QUEUED;
+
+    @Column(name = "total_parts")
+    private Integer totalParts;
+
+    @Column(name = "completed_parts", nullable = false)
+    private Integer completedParts = 0;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+}
@@ -0,0 +1,16 @@
+package com.ascend.ascend_doc_split_review.entity;
+
+/**
+ * Id generation shared by the entities, the schema migration and the JDBC writers.
+ */
+public final class IdGeneration {
+
+    /**
+     * Ids reserved per sequence call (Hibernate's pooled optimizer): a sequence value V covers ids V-49..V.
+     * Must match the INCREMENT BY of the sequences.
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
@@ -1,6 +1,8 @@
 package com.ascend.ascend_doc_split_review.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -8,15 +10,21 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "original_documents")
+@Table(name = "original_documents", indexes = @Index(name = "idx_original_documents_user_created", columnList = "user_id, created_at, id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "original-documents")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class OriginalDocument {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "original_documents_seq")
+    @SequenceGenerator(name = "original_documents_seq", sequenceName = "original_documents_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
+    @Version
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -34,6 +42,7 @@ public class OriginalDocument {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "original-document-split-parts")
     @OneToMany(mappedBy = "originalDocument", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<SplitPart> splitParts;
 
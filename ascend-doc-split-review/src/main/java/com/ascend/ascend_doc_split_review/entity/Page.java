@@ -1,18 +1,28 @@
 package com.ascend.ascend_doc_split_review.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table(name = "pages")
+@Table(name = "pages", indexes = @Index(name = "idx_pages_split_part_page", columnList = "split_part_id, page_number"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pages")
+// A cached SplitPart.pages collection can outlive the page entries it lists; reload those together, not one by one
+@BatchSize(size = 100)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Page {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pages_seq")
+    @SequenceGenerator(name = "pages_seq", sequenceName = "pages_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -22,6 +32,25 @@ public class Page {
     @Column(name = "page_number", nullable = false)
     private Integer pageNumber;
 
-    @Column
-    private String content; // Optional metadata about the page
-}
\ No newline at end of file
+    // Optional metadata about the page; full page text for uploaded PDFs. Stored compressed in page_contents
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "content_id")
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private PageContent pageContent;
+
+    // Loads the content row on first access
+    public String getContent() {
+        return pageContent != null ? pageContent.getText() : null;
+    }
+
+    public void setContent(String content) {
+        if (content == null) {
+            pageContent = null;
+        } else if (pageContent == null) {
+            pageContent = new PageContent(content);
+        } else {
+            pageContent.setText(content);
+        }
+    }
+}
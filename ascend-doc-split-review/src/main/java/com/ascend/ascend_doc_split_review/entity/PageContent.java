@@ -0,0 +1,31 @@
+package com.ascend.ascend_doc_split_review.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+
+/**
+ * Text of a page, kept off the pages row so that layout queries and page moves never read it. Only loaded
+ * when a response includes page content; uninitialized proxies of one document are fetched in batches.
+ */
+@Entity
+@Table(name = "page_contents")
+@BatchSize(size = 100)
+@Data
+@NoArgsConstructor
+public class PageContent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "page_contents_seq")
+    @SequenceGenerator(name = "page_contents_seq", sequenceName = "page_contents_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
+    private Long id;
+
+    @Lob
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(nullable = false)
+    private String text;
+
+    public PageContent(String text) {
+        this.text = text;
+    }
+}
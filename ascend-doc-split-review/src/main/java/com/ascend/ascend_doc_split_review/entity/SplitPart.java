@@ -1,6 +1,8 @@
 package com.ascend.ascend_doc_split_review.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -8,15 +10,24 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "split_parts")
+@Table(name = "split_parts", indexes = {
+        @Index(name = "idx_split_parts_original_document", columnList = "original_document_id"),
+        @Index(name = "idx_split_parts_document_change", columnList = "original_document_id, change_version")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "split-parts")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class SplitPart {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "split_parts_seq")
+    @SequenceGenerator(name = "split_parts_seq", sequenceName = "split_parts_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
+    @Version
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "original_document_id", nullable = false)
     private OriginalDocument originalDocument;
@@ -40,6 +51,7 @@ public class SplitPart {
     @Column(nullable = false)
     private Status status = Status.PENDING;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "split-part-pages")
     @OneToMany(mappedBy = "splitPart", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Page> pages;
 
@@ -49,6 +61,10 @@ public class SplitPart {
     @Column(name = "to_page")
     private Integer toPage;
 
+    // Document version of the transaction that last created or changed this split part (delta sync)
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion = 0L;
+
     public enum Status {
         PENDING, FINALIZED
     }
@@ -0,0 +1,32 @@
+package com.ascend.ascend_doc_split_review.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Records a deleted split part so delta sync ({@code GET /api/documents/{id}/changes}) can report the deletion.
+ * Keyed by the split part id, which sequences never hand out again.
+ */
+@Entity
+@Table(name = "split_part_tombstones", indexes = @Index(name = "idx_split_part_tombstones_document_change", columnList = "original_document_id, change_version"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SplitPartTombstone {
+    @Id
+    @Column(name = "split_part_id")
+    private Long splitPartId;
+
+    @Column(name = "original_document_id", nullable = false)
+    private Long originalDocumentId;
+
+    // Document version of the deleting transaction, see SplitPart#changeVersion
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,28 @@
+package com.ascend.ascend_doc_split_review.repository;
+
+import com.ascend.ascend_doc_split_review.entity.FinalizeJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FinalizeJobRepository extends JpaRepository<FinalizeJob, Long> {
+    Optional<FinalizeJob> findByIdAndOriginalDocumentUserId(Long id, Long userId);
+
+    Optional<FinalizeJob> findFirstByOriginalDocumentIdOrderByIdDesc(Long originalDocumentId);
+
+    List<FinalizeJob> findByStatusIn(Collection<FinalizeJob.Status> statuses);
+
+    // Called from render workers as each split PDF is stored; a single statement, so concurrent workers do not lose updates
+    @Transactional
+    @Modifying
+    @Query("update FinalizeJob j set j.completedParts = j.completedParts + 1 where j.id = :id")
+    int incrementCompletedParts(@Param("id") Long id);
+}
@@ -1,13 +1,50 @@
 package com.ascend.ascend_doc_split_review.repository;
 
+import com.ascend.ascend_doc_split_review.dto.DocumentSummaryResponse;
 import com.ascend.ascend_doc_split_review.entity.OriginalDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OriginalDocumentRepository extends JpaRepository<OriginalDocument, Long> {
     List<OriginalDocument> findByUserId(Long userId);
-}
 
+    // Document, owner and split parts in one statement; pages are fetched by SplitPartRepository#findWithPagesByOriginalDocumentId
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select distinct d from OriginalDocument d join fetch d.user left join fetch d.splitParts where d.id = :id")
+    Optional<OriginalDocument> findWithSplitPartsById(@Param("id") Long id);
+
+    // Served from the query cache until original_documents is written again
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select d.version from OriginalDocument d where d.id = :id and d.user.id = :userId")
+    Optional<Long> findVersionByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Keyset (seek) pagination over (createdAt, id), newest first: first page
+    @Query("select new com.ascend.ascend_doc_split_review.dto.DocumentSummaryResponse(d.id, d.originalFilename, d.status, d.createdAt, d.updatedAt) " +
+            "from OriginalDocument d where d.user.id = :userId and (:status is null or d.status = :status) " +
+            "order by d.createdAt desc, d.id desc")
+    List<DocumentSummaryResponse> findSummariesByUserId(@Param("userId") Long userId,
+                                                        @Param("status") OriginalDocument.Status status,
+                                                        Limit limit);
+
+    // Keyset (seek) pagination over (createdAt, id), newest first: rows after the given position
+    @Query("select new com.ascend.ascend_doc_split_review.dto.DocumentSummaryResponse(d.id, d.originalFilename, d.status, d.createdAt, d.updatedAt) " +
+            "from OriginalDocument d where d.user.id = :userId and (:status is null or d.status = :status) " +
+            "and (d.createdAt < :createdAt or (d.createdAt = :createdAt and d.id < :id)) " +
+            "order by d.createdAt desc, d.id desc")
+    List<DocumentSummaryResponse> findSummariesByUserIdAfter(@Param("userId") Long userId,
+                                                             @Param("status") OriginalDocument.Status status,
+                                                             @Param("createdAt") LocalDateTime createdAt,
+                                                             @Param("id") Long id,
+                                                             Limit limit);
+}
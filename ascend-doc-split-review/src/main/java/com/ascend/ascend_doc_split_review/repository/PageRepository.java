@@ -1,13 +1,59 @@
 package com.ascend.ascend_doc_split_review.repository;
 
+import com.ascend.ascend_doc_split_review.dto.PageResponse;
 import com.ascend.ascend_doc_split_review.entity.Page;
+import com.ascend.ascend_doc_split_review.entity.SplitPart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PageRepository extends JpaRepository<Page, Long> {
+
+    // Page-to-split assignment without the page content
+    interface PageAssignment {
+        Long getId();
+        Integer getPageNumber();
+        Long getSplitPartId();
+    }
+
     List<Page> findBySplitPartId(Long splitPartId);
     List<Page> findByIdIn(List<Long> ids);
-}
\ No newline at end of file
+    boolean existsByIdIn(Collection<Long> ids);
+
+    @Query("select p.id as id, p.pageNumber as pageNumber, p.splitPart.id as splitPartId from Page p " +
+            "where p.splitPart.originalDocument.id = :originalDocumentId")
+    List<PageAssignment> findAssignmentsByOriginalDocumentId(@Param("originalDocumentId") Long originalDocumentId);
+
+    @Query("select p.id as id, p.pageNumber as pageNumber, p.splitPart.id as splitPartId from Page p where p.splitPart.id in :splitPartIds")
+    List<PageAssignment> findAssignmentsBySplitPartIdIn(@Param("splitPartIds") Collection<Long> splitPartIds);
+
+    // Pages view: ids and numbers without content
+    @Query("select new com.ascend.ascend_doc_split_review.dto.PageResponse(p.id, p.pageNumber) from Page p " +
+            "where p.splitPart.id = :splitPartId order by p.pageNumber")
+    List<PageResponse> findResponsesBySplitPartId(@Param("splitPartId") Long splitPartId);
+
+    @Query("select p.pageNumber from Page p where p.splitPart.id = :splitPartId")
+    List<Integer> findPageNumbersBySplitPartId(@Param("splitPartId") Long splitPartId);
+
+    // Set-based reassignment: one UPDATE regardless of how many pages move
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Page p set p.splitPart = :target where p.id in :ids")
+    int reassignByIdIn(@Param("ids") Collection<Long> ids, @Param("target") SplitPart target);
+
+    // Moves a run of consecutive pages of one split part (a boundary change): one UPDATE on (split_part_id, page_number)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Page p set p.splitPart = :target where p.splitPart.id = :sourceId and p.pageNumber between :fromPage and :toPage")
+    int reassignRange(@Param("sourceId") Long sourceId, @Param("fromPage") int fromPage, @Param("toPage") int toPage,
+                      @Param("target") SplitPart target);
+
+    // Moves every page of a split part; a null target leaves the pages unassigned
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Page p set p.splitPart = :target where p.splitPart.id = :sourceId")
+    int reassignBySplitPartId(@Param("sourceId") Long sourceId, @Param("target") SplitPart target);
+}
@@ -1,13 +1,86 @@
 package com.ascend.ascend_doc_split_review.repository;
 
+import com.ascend.ascend_doc_split_review.dto.SplitPartResponse;
 import com.ascend.ascend_doc_split_review.entity.SplitPart;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SplitPartRepository extends JpaRepository<SplitPart, Long> {
+
+    // Page range of a split part, for building a SplitLayout without loading pages
+    interface SplitPartRange {
+        Long getId();
+        Integer getFromPage();
+        Integer getToPage();
+        SplitPart.Status getStatus();
+    }
+
     List<SplitPart> findByOriginalDocumentId(Long originalDocumentId);
-}
 
+    // Document of a split part without loading it, to lock the document before the split part is read
+    @Query("select sp.originalDocument.id from SplitPart sp where sp.id = :id")
+    Optional<Long> findOriginalDocumentIdById(@Param("id") Long id);
+
+    // Split part with its document and owner loaded, for ownership checks outside a transaction
+    @Query("select sp from SplitPart sp join fetch sp.originalDocument d join fetch d.user where sp.id = :id")
+    Optional<SplitPart> findWithDocumentById(@Param("id") Long id);
+
+    @Query("select sp.id as id, sp.fromPage as fromPage, sp.toPage as toPage, sp.status as status from SplitPart sp " +
+            "where sp.originalDocument.id = :originalDocumentId")
+    List<SplitPartRange> findRangesByOriginalDocumentId(@Param("originalDocumentId") Long originalDocumentId);
+
+    // Initializes the pages collection of every split part of a document in one statement
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select distinct sp from SplitPart sp left join fetch sp.pages where sp.originalDocument.id = :originalDocumentId")
+    List<SplitPart> findWithPagesByOriginalDocumentId(@Param("originalDocumentId") Long originalDocumentId);
+
+    // Summary view: split part columns only, no Page rows
+    @Query("select new com.ascend.ascend_doc_split_review.dto.SplitPartResponse(sp.id, sp.version, sp.name, sp.classification, sp.filename, " +
+            "sp.createdAt, sp.updatedAt, sp.fromPage, sp.toPage) " +
+            "from SplitPart sp where sp.originalDocument.id = :originalDocumentId order by sp.fromPage, sp.id")
+    List<SplitPartResponse> findResponsesByOriginalDocumentId(@Param("originalDocumentId") Long originalDocumentId);
+
+    @Query("select new com.ascend.ascend_doc_split_review.dto.SplitPartResponse(sp.id, sp.version, sp.name, sp.classification, sp.filename, " +
+            "sp.createdAt, sp.updatedAt, sp.fromPage, sp.toPage) " +
+            "from SplitPart sp where sp.id = :id and sp.originalDocument.user.id = :userId")
+    Optional<SplitPartResponse> findResponseByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Split parts created or changed after a document version, for delta sync
+    @Query("select new com.ascend.ascend_doc_split_review.dto.SplitPartResponse(sp.id, sp.version, sp.name, sp.classification, sp.filename, " +
+            "sp.createdAt, sp.updatedAt, sp.fromPage, sp.toPage) " +
+            "from SplitPart sp where sp.originalDocument.id = :originalDocumentId and sp.changeVersion > :since order by sp.id")
+    List<SplitPartResponse> findResponsesChangedSince(@Param("originalDocumentId") Long originalDocumentId, @Param("since") long since);
+
+    // Recomputes fromPage/toPage in SQL; split parts without pages end up with a null range.
+    // "versioned" bumps the version of every updated split part, so their ETags change.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned SplitPart sp set " +
+            "sp.fromPage = (select min(p.pageNumber) from Page p where p.splitPart.id = sp.id), " +
+            "sp.toPage = (select max(p.pageNumber) from Page p where p.splitPart.id = sp.id), " +
+            "sp.changeVersion = :changeVersion, sp.updatedAt = :now " +
+            "where sp.id in :ids")
+    int recomputeRanges(@Param("ids") Collection<Long> ids, @Param("changeVersion") long changeVersion, @Param("now") LocalDateTime now);
+
+    // Sets a range already known from the layout instead of recomputing it from the pages; versioned like recomputeRanges
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned SplitPart sp set sp.fromPage = :fromPage, sp.toPage = :toPage, sp.changeVersion = :changeVersion, " +
+            "sp.updatedAt = :now where sp.id = :id")
+    int updateRange(@Param("id") Long id, @Param("fromPage") int fromPage, @Param("toPage") int toPage,
+                    @Param("changeVersion") long changeVersion, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from SplitPart sp where sp.id in :ids and not exists (select p.id from Page p where p.splitPart.id = sp.id)")
+    int deleteEmptyByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,31 @@
+package com.ascend.ascend_doc_split_review.repository;
+
+import com.ascend.ascend_doc_split_review.entity.SplitPartTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SplitPartTombstoneRepository extends JpaRepository<SplitPartTombstone, Long> {
+
+    @Query("select t.splitPartId from SplitPartTombstone t where t.originalDocumentId = :originalDocumentId and t.changeVersion > :since order by t.splitPartId")
+    List<Long> findSplitPartIdsChangedSince(@Param("originalDocumentId") Long originalDocumentId, @Param("since") long since);
+
+    // Same condition as SplitPartRepository#deleteEmptyByIdIn; run it first to record exactly the split parts that delete removes
+    @Modifying(flushAutomatically = true)
+    @Query("insert into SplitPartTombstone (splitPartId, originalDocumentId, changeVersion, deletedAt) " +
+            "select sp.id, sp.originalDocument.id, :changeVersion, local datetime from SplitPart sp " +
+            "where sp.id in :ids and not exists (select p.id from Page p where p.splitPart.id = sp.id)")
+    int insertForEmptyByIdIn(@Param("ids") Collection<Long> ids, @Param("changeVersion") long changeVersion);
+
+    @Transactional
+    @Modifying
+    @Query("delete from SplitPartTombstone t where t.originalDocumentId = :originalDocumentId")
+    int deleteByOriginalDocumentId(@Param("originalDocumentId") Long originalDocumentId);
+}
@@ -9,25 +9,40 @@ import java.util.Collection;
 import java.util.Collections;
 
 public class UserPrincipal implements UserDetails {
-    private User user;
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final User.Role role;
 
     public UserPrincipal(User user) {
-        this.user = user;
+        this(user.getId(), user.getUsername(), user.getPassword(), user.getRole());
+    }
+
+    private UserPrincipal(Long id, String username, String password, User.Role role) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+    }
+
+    // Lightweight principal rebuilt from verified JWT claims; carries no password
+    public static UserPrincipal fromClaims(Long id, String username, User.Role role) {
+        return new UserPrincipal(id, username, null, role);
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
+        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return username;
     }
 
     @Override
@@ -50,7 +65,11 @@ public class UserPrincipal implements UserDetails {
         return true;
     }
 
-    public User getUser() {
-        return user;
+    public Long getId() {
+        return id;
+    }
+
+    public User.Role getRole() {
+        return role;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-size pools of named daemon threads for the background work of this package.
+ */
+final class BoundedExecutors {
+
+    private BoundedExecutors() {
+    }
+
+    /**
+     * @param threads number of threads; 0 or less means one per available processor
+     * @return a pool with {@code threads * 4} queued tasks at most; beyond that the submitting thread runs the task
+     */
+    static ThreadPoolExecutor callerRuns(String name, int threads) {
+        int size = poolSize(threads);
+        return newPool(name, size, new ArrayBlockingQueue<>(size * 4), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    static ThreadPoolExecutor newPool(String name, int threads, BlockingQueue<Runnable> queue, RejectedExecutionHandler rejection) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue,
+                r -> {
+                    Thread thread = new Thread(r, name + "-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                rejection);
+    }
+
+    static int poolSize(int threads) {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
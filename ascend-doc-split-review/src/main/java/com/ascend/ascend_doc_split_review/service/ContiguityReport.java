@@ -0,0 +1,54 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Result of a contiguity validation: every gap found, per split part, instead of a single boolean.
+ */
+public class ContiguityReport {
+
+    public enum Side {
+        TARGET, SOURCE
+    }
+
+    /**
+     * A run of missing page numbers ({@code fromPage..toPage}, inclusive) inside a split part.
+     */
+    public record Gap(Long splitPartId, Side side, int fromPage, int toPage) {
+        @Override
+        public String toString() {
+            return fromPage == toPage ? String.valueOf(fromPage) : fromPage + "-" + toPage;
+        }
+    }
+
+    private final List<Gap> gaps = new ArrayList<>();
+
+    void addGap(Long splitPartId, Side side, int fromPage, int toPage) {
+        gaps.add(new Gap(splitPartId, side, fromPage, toPage));
+    }
+
+    public boolean isContiguous() {
+        return gaps.isEmpty();
+    }
+
+    public boolean hasGaps(Side side) {
+        return gaps.stream().anyMatch(g -> g.side() == side);
+    }
+
+    public List<Gap> getGaps() {
+        return Collections.unmodifiableList(gaps);
+    }
+
+    /**
+     * Human-readable list of missing pages for one side, e.g. {@code "4, 7-9"}.
+     */
+    public String describe(Side side) {
+        return gaps.stream()
+                .filter(g -> g.side() == side)
+                .map(Gap::toString)
+                .collect(Collectors.joining(", "));
+    }
+}
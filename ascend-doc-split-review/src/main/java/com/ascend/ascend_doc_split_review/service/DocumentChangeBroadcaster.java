@@ -0,0 +1,157 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans committed {@link DocumentChangeEvent}s out to the SSE subscribers of each document.
+ * <p>
+ * The committing thread only offers the event to each subscriber's queue of {@code events.subscriber-buffer}
+ * entries and never touches a socket; a small pool of sender threads drains the queues. A subscriber whose
+ * queue is full has fallen too far behind: it gets a final {@code resync} event and is disconnected, and is
+ * expected to reload the document and subscribe again.
+ */
+@Service
+public class DocumentChangeBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentChangeBroadcaster.class);
+
+    private final ConcurrentMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor sender;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final Counter droppedSubscribers;
+
+    public DocumentChangeBroadcaster(MeterRegistry meterRegistry,
+                                     @Value("${events.sender-threads}") int senderThreads,
+                                     @Value("${events.subscriber-buffer}") int bufferSize,
+                                     @Value("${events.timeout-millis}") long timeoutMillis) {
+        // Each subscriber has at most one drain task queued, so the task queue is bounded by the subscriber count
+        this.sender = BoundedExecutors.newPool("sse-send", BoundedExecutors.poolSize(senderThreads),
+                new LinkedBlockingQueue<>(), new ThreadPoolExecutor.AbortPolicy());
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        Gauge.builder("events.subscribers", subscribers, m -> m.values().stream().mapToInt(Set::size).sum())
+                .description("Open document change streams")
+                .register(meterRegistry);
+        this.droppedSubscribers = Counter.builder("events.subscribers.dropped")
+                .description("Subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a change stream for a document. The first event, {@code subscribed}, carries the document version
+     * the stream starts from, so a client can tell whether its copy is already stale.
+     */
+    public SseEmitter subscribe(Long documentId, Long currentVersion) throws IOException {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(documentId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.compute(documentId, (id, set) -> {
+            Set<Subscriber> result = set != null ? set : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        emitter.send(SseEmitter.event().name("subscribed")
+                .data(Map.of("documentId", documentId, "version", currentVersion), MediaType.APPLICATION_JSON));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(DocumentChangeEvent event) {
+        Set<Subscriber> documentSubscribers = subscribers.get(event.documentId());
+        if (documentSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : documentSubscribers) {
+            if (!subscriber.queue.offer(event)) {
+                subscriber.overflowed = true;
+            }
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.overflowed) {
+                droppedSubscribers.increment();
+                logger.info("Disconnecting slow subscriber of document {}", subscriber.documentId);
+                remove(subscriber);
+                subscriber.emitter.send(SseEmitter.event().name("resync").data(Map.of("documentId", subscriber.documentId), MediaType.APPLICATION_JSON));
+                subscriber.emitter.complete();
+                return;
+            }
+            DocumentChangeEvent event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event().name("change").data(event, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            remove(subscriber);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        // An event may have been offered after the queue looked empty but before the flag was cleared
+        if (!subscriber.queue.isEmpty() || subscriber.overflowed) {
+            schedule(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.documentId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private static final class Subscriber {
+        final Long documentId;
+        final SseEmitter emitter;
+        final BlockingQueue<DocumentChangeEvent> queue;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile boolean overflowed;
+
+        Subscriber(Long documentId, SseEmitter emitter, BlockingQueue<DocumentChangeEvent> queue) {
+            this.documentId = documentId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
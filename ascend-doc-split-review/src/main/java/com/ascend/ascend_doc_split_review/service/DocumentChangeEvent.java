@@ -0,0 +1,21 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A change to an original document, published inside the changing transaction and pushed to the document's
+ * SSE subscribers once it commits. It names what changed, not the new state: clients re-read the split parts
+ * they display.
+ */
+public record DocumentChangeEvent(Long documentId, Type type, List<Long> splitPartIds, LocalDateTime at) {
+
+    public enum Type {
+        SPLIT_PART_CREATED, SPLIT_PART_UPDATED, SPLIT_PART_DELETED, SPLIT_PART_FINALIZED, PAGES_MOVED, DOCUMENT_FINALIZED
+    }
+
+    static DocumentChangeEvent of(Long documentId, Type type, Collection<Long> splitPartIds) {
+        return new DocumentChangeEvent(documentId, type, List.copyOf(splitPartIds), LocalDateTime.now());
+    }
+}
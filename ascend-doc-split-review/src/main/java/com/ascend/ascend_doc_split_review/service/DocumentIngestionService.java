@@ -0,0 +1,333 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import com.ascend.ascend_doc_split_review.dto.IngestResponse;
+import com.ascend.ascend_doc_split_review.entity.CompressedTextConverter;
+import com.ascend.ascend_doc_split_review.entity.IdGeneration;
+import com.ascend.ascend_doc_split_review.entity.OriginalDocument;
+import com.ascend.ascend_doc_split_review.entity.SplitPart;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Bulk ingestion of AI split results from an NDJSON stream, one original document per line:
+ * <pre>
+ * {"originalFilename":"bundle.pdf","splitParts":[{"name":"Form 80C","classification":"80C","filename":"c.pdf",
+ *   "pages":[{"pageNumber":1,"content":"..."},{"pageNumber":2}]}]}
+ * </pre>
+ * The stream is read token by token and rows are written with JDBC as soon as they are complete, so memory
+ * use is bounded by {@code ingest.batch-size} pages regardless of the upload size. For that to work scalar
+ * fields must precede the arrays: {@code originalFilename} before {@code splitParts}, and
+ * {@code name}/{@code classification}/{@code filename} before {@code pages}.
+ * <p>
+ * Each document is written in its own transaction. An invalid document is rolled back, reported and skipped;
+ * malformed JSON aborts the stream, keeping the documents committed before it.
+ */
+@Service
+public class DocumentIngestionService {
+
+    static final int MAX_PAGE_NUMBER = 100_000;
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final String INSERT_DOCUMENT =
+            "insert into original_documents (id, version, user_id, original_filename, status, created_at, updated_at) values (?, 0, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SPLIT_PART =
+            "insert into split_parts (id, version, original_document_id, name, classification, filename, status, created_at, updated_at) values (?, 0, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SPLIT_PART_RANGE =
+            "update split_parts set from_page = ?, to_page = ? where id = ?";
+    private static final String INSERT_PAGE_CONTENT =
+            "insert into page_contents (id, text) values (?, ?)";
+    private static final String INSERT_PAGE =
+            "insert into pages (id, split_part_id, page_number, content_id) values (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LayoutCacheEvictor layoutCacheEvictor;
+
+    @Value("${ingest.batch-size}")
+    private int batchSize;
+
+    public IngestResponse ingest(Long userId, InputStream in) throws IOException {
+        IngestResponse response = new IngestResponse();
+        Ids ids = new Ids();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            int record = 0;
+            JsonToken token;
+            while ((token = nextToken(parser, response)) != null) {
+                record++;
+                int line = parser.currentTokenLocation().getLineNr();
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("Malformed NDJSON at line " + line + ": expected one JSON object per line ("
+                            + response.getDocuments() + " documents ingested)");
+                }
+                try {
+                    DocumentCounts counts = transactionTemplate.execute(status -> writeDocument(userId, parser, ids));
+                    response.setDocuments(response.getDocuments() + 1);
+                    response.setSplitParts(response.getSplitParts() + counts.splitParts);
+                    response.setPages(response.getPages() + counts.pages);
+                } catch (IllegalArgumentException e) {
+                    skipRestOfDocument(parser, response);
+                    response.setFailed(response.getFailed() + 1);
+                    if (response.getErrors().size() < MAX_REPORTED_ERRORS) {
+                        response.getErrors().add(new IngestResponse.IngestError(record, line, e.getMessage()));
+                    }
+                } catch (UncheckedIOException e) {
+                    if (e.getCause() instanceof JsonProcessingException jsonError) {
+                        throw malformed(jsonError, response);
+                    }
+                    throw e.getCause();
+                }
+            }
+        } finally {
+            // Rows were written behind Hibernate's back; cached query results (e.g. "no such document") are stale
+            layoutCacheEvictor.evictQueryResults();
+        }
+        return response;
+    }
+
+    private DocumentCounts writeDocument(Long userId, JsonParser parser, Ids ids) {
+        try {
+            DocumentCounts counts = new DocumentCounts();
+            BitSet pageNumbers = new BitSet();
+            String originalFilename = null;
+            Long documentId = null;
+            while (parser.nextToken() != JsonToken.END_OBJECT) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "originalFilename" -> originalFilename = text(parser, value, field);
+                    case "splitParts" -> {
+                        expect(value, JsonToken.START_ARRAY, field);
+                        if (originalFilename == null) {
+                            throw new IllegalArgumentException("originalFilename is required and must come before splitParts");
+                        }
+                        documentId = insertDocument(ids.documents.next(), userId, originalFilename);
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            expect(parser.currentToken(), JsonToken.START_OBJECT, "splitParts[]");
+                            counts.pages += writeSplitPart(documentId, parser, pageNumbers, ids);
+                            counts.splitParts++;
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            if (documentId == null) {
+                if (originalFilename == null) {
+                    throw new IllegalArgumentException("originalFilename is required");
+                }
+                insertDocument(ids.documents.next(), userId, originalFilename);
+            }
+            return counts;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int writeSplitPart(Long documentId, JsonParser parser, BitSet pageNumbers, Ids ids) throws IOException {
+        String name = null;
+        String classification = null;
+        String filename = null;
+        Long splitPartId = null;
+        int minPage = Integer.MAX_VALUE;
+        int maxPage = 0;
+        int count = 0;
+        while (parser.nextToken() != JsonToken.END_OBJECT) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "name" -> name = text(parser, value, field);
+                case "classification" -> classification = text(parser, value, field);
+                case "filename" -> filename = text(parser, value, field);
+                case "pages" -> {
+                    expect(value, JsonToken.START_ARRAY, field);
+                    if (name == null || classification == null || filename == null) {
+                        throw new IllegalArgumentException("name, classification and filename are required and must come before pages");
+                    }
+                    splitPartId = insertSplitPart(ids.splitParts.next(), documentId, name, classification, filename);
+                    List<Object[]> batch = new ArrayList<>(batchSize);
+                    List<Object[]> contents = new ArrayList<>(batchSize);
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        expect(parser.currentToken(), JsonToken.START_OBJECT, "pages[]");
+                        Object[] page = readPage(parser, ids.pages.next(), splitPartId);
+                        int pageNumber = (Integer) page[2];
+                        if (pageNumbers.get(pageNumber)) {
+                            throw new IllegalArgumentException("Page " + pageNumber + " appears more than once");
+                        }
+                        pageNumbers.set(pageNumber);
+                        minPage = Math.min(minPage, pageNumber);
+                        maxPage = Math.max(maxPage, pageNumber);
+                        count++;
+                        if (page[3] != null) {
+                            long contentId = ids.contents.next();
+                            contents.add(new Object[]{contentId, CompressedTextConverter.compress((String) page[3])});
+                            page[3] = contentId;
+                        }
+                        batch.add(page);
+                        if (batch.size() == batchSize) {
+                            writePages(batch, contents);
+                        }
+                    }
+                    if (!batch.isEmpty()) {
+                        writePages(batch, contents);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException("Split part " + (name != null ? "'" + name + "' " : "") + "must have at least one page");
+        }
+        // Same rule as moves: a split part covers one contiguous page range
+        if (maxPage - minPage + 1 != count) {
+            throw new IllegalArgumentException("Split part '" + name + "' pages must be contiguous, got " + count
+                    + " pages between " + minPage + " and " + maxPage);
+        }
+        jdbcTemplate.update(UPDATE_SPLIT_PART_RANGE, minPage, maxPage, splitPartId);
+        return count;
+    }
+
+    private Object[] readPage(JsonParser parser, long id, Long splitPartId) throws IOException {
+        Integer pageNumber = null;
+        String content = null;
+        while (parser.nextToken() != JsonToken.END_OBJECT) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "pageNumber" -> {
+                    expect(value, JsonToken.VALUE_NUMBER_INT, field);
+                    pageNumber = parser.getIntValue();
+                }
+                case "content" -> {
+                    if (value != JsonToken.VALUE_NULL) {
+                        expect(value, JsonToken.VALUE_STRING, field);
+                        content = parser.getText();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        if (pageNumber == null || pageNumber < 1 || pageNumber > MAX_PAGE_NUMBER) {
+            throw new IllegalArgumentException("pageNumber is required and must be between 1 and " + MAX_PAGE_NUMBER);
+        }
+        return new Object[]{id, splitPartId, pageNumber, content};
+    }
+
+    // Content rows first: pages reference them
+    private void writePages(List<Object[]> pages, List<Object[]> contents) {
+        if (!contents.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PAGE_CONTENT, contents);
+            contents.clear();
+        }
+        jdbcTemplate.batchUpdate(INSERT_PAGE, pages);
+        pages.clear();
+    }
+
+    private Long insertDocument(long id, Long userId, String originalFilename) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(INSERT_DOCUMENT, id, userId, originalFilename, OriginalDocument.Status.PENDING.name(), now, now);
+        return id;
+    }
+
+    private Long insertSplitPart(long id, Long documentId, String name, String classification, String filename) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(INSERT_SPLIT_PART, id, documentId, name, classification, filename, SplitPart.Status.PENDING.name(), now, now);
+        return id;
+    }
+
+    private static String text(JsonParser parser, JsonToken value, String field) throws IOException {
+        expect(value, JsonToken.VALUE_STRING, field);
+        String text = parser.getText();
+        if (text.isBlank()) {
+            throw new IllegalArgumentException(field + " must not be blank");
+        }
+        return text;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, String field) {
+        if (actual != expected) {
+            throw new IllegalArgumentException(field + ": expected " + expected + " but got " + actual);
+        }
+    }
+
+    // After a rejected document: consume tokens until its closing brace (back at the top level)
+    private static void skipRestOfDocument(JsonParser parser, IngestResponse response) throws IOException {
+        try {
+            while (!parser.getParsingContext().inRoot()) {
+                if (parser.nextToken() == null) {
+                    return;
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw malformed(e, response);
+        }
+    }
+
+    private static JsonToken nextToken(JsonParser parser, IngestResponse response) throws IOException {
+        try {
+            return parser.nextToken();
+        } catch (JsonProcessingException e) {
+            throw malformed(e, response);
+        }
+    }
+
+    private static IllegalArgumentException malformed(JsonProcessingException e, IngestResponse response) {
+        String at = e.getLocation() != null ? " at line " + e.getLocation().getLineNr() : "";
+        return new IllegalArgumentException("Malformed NDJSON" + at + ": " + e.getOriginalMessage() + " ("
+                + response.getDocuments() + " documents ingested before the error)", e);
+    }
+
+    // Id blocks for one ingestion run, drawn from the same sequences as the entities
+    private class Ids {
+        final PooledIds documents = new PooledIds("original_documents_seq");
+        final PooledIds splitParts = new PooledIds("split_parts_seq");
+        final PooledIds pages = new PooledIds("pages_seq");
+        final PooledIds contents = new PooledIds("page_contents_seq");
+    }
+
+    // Same blocks as Hibernate's pooled optimizer (sequence value V covers V-49..V), so ids never collide
+    private class PooledIds {
+        private final String sequence;
+        private long next = 1;
+        private long hi = 0;
+
+        PooledIds(String sequence) {
+            this.sequence = sequence;
+        }
+
+        long next() {
+            if (next > hi) {
+                hi = jdbcTemplate.queryForObject("select next value for " + sequence, Long.class);
+                next = hi - IdGeneration.ALLOCATION_SIZE + 1;
+            }
+            return next++;
+        }
+    }
+
+    private static class DocumentCounts {
+        int splitParts;
+        long pages;
+    }
+}
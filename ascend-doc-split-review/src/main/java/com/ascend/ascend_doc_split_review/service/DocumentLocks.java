@@ -0,0 +1,96 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process mutual exclusion per original document, held until the current transaction completes.
+ * <p>
+ * There is one lock per document currently being changed rather than a fixed set of stripes, so changes to
+ * unrelated documents never wait for each other; a lock is dropped as soon as no thread holds or waits for it.
+ * Waiting is bounded by {@code locks.document.timeout-millis}; a timeout is reported as
+ * {@link CannotAcquireLockException}, which is transient and therefore retried by the calling service.
+ */
+@Component
+class DocumentLocks {
+
+    private final Map<Long, Entry> locks = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+    private final MeterRegistry meterRegistry;
+
+    DocumentLocks(MeterRegistry meterRegistry, @Value("${locks.document.timeout-millis}") long timeoutMillis) {
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+        Gauge.builder("document.locks.active", locks, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Locks the document until the transaction bound to the current thread commits or rolls back.
+     *
+     * @return true if the lock was acquired by this call, false if the current transaction already held it
+     * @throws CannotAcquireLockException if another transaction kept the document locked for the whole timeout
+     */
+    boolean lockUntilCompletion(Long documentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Document locks are held until commit and need an active transaction");
+        }
+        Entry entry = locks.compute(documentId, (id, e) -> {
+            Entry held = e != null ? e : new Entry();
+            held.users++;
+            return held;
+        });
+        if (entry.lock.isHeldByCurrentThread()) {
+            release(documentId, entry);
+            return false;
+        }
+        long start = System.nanoTime();
+        String outcome = "uncontended";
+        boolean acquired = entry.lock.tryLock();
+        if (!acquired) {
+            try {
+                acquired = entry.lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            outcome = acquired ? "waited" : "timeout";
+        }
+        Timer.builder("document.lock.wait")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            release(documentId, entry);
+            throw new CannotAcquireLockException("Original document " + documentId
+                    + " is being changed by another request; gave up after " + timeoutMillis + " ms");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                entry.lock.unlock();
+                release(documentId, entry);
+            }
+        });
+        return true;
+    }
+
+    private void release(Long documentId, Entry entry) {
+        locks.computeIfPresent(documentId, (id, e) -> e == entry && --e.users == 0 ? null : e);
+    }
+
+    private static final class Entry {
+        final ReentrantLock lock = new ReentrantLock();
+        // Threads holding or waiting for the lock; only changed inside ConcurrentHashMap#compute for this key
+        int users;
+    }
+}
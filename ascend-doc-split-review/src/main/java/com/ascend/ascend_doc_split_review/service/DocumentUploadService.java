@@ -0,0 +1,84 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import com.ascend.ascend_doc_split_review.entity.OriginalDocument;
+import com.ascend.ascend_doc_split_review.entity.Page;
+import com.ascend.ascend_doc_split_review.entity.SplitPart;
+import com.ascend.ascend_doc_split_review.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns an uploaded PDF into an original document: one page row per PDF page with its extracted text, and a
+ * single split part covering all pages as the starting point for review. The PDF is kept as the document's
+ * stored source, so downloads use the real pages.
+ */
+@Service
+public class DocumentUploadService {
+
+    static final String UNCLASSIFIED = "UNCLASSIFIED";
+
+    @Autowired
+    private PdfStorageService pdfStorageService;
+
+    @Autowired
+    private PdfTextExtractor pdfTextExtractor;
+
+    @Autowired
+    private OriginalDocumentService originalDocumentService;
+
+    @Autowired
+    private SplitPartService splitPartService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    public OriginalDocument upload(Long userId, String originalFilename, InputStream content) throws IOException {
+        Path incoming = pdfStorageService.newIncomingFile();
+        try {
+            Files.copy(content, incoming, StandardCopyOption.REPLACE_EXISTING);
+            int pageCount = pdfTextExtractor.pageCount(incoming);
+            if (pageCount == 0) {
+                throw new IllegalArgumentException("The PDF has no pages");
+            }
+            // Extraction runs before the transaction so no connection is held while the workers are busy
+            List<String> texts = pdfTextExtractor.extractPages(incoming, pageCount);
+            return transactionTemplate.execute(status -> persist(userId, originalFilename, texts, incoming));
+        } finally {
+            Files.deleteIfExists(incoming);
+        }
+    }
+
+    private OriginalDocument persist(Long userId, String originalFilename, List<String> texts, Path incoming) {
+        OriginalDocument doc = originalDocumentService.createOriginalDocument(userRepository.getReferenceById(userId), originalFilename);
+        List<Page> pages = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            Page page = new Page();
+            page.setPageNumber(i + 1);
+            page.setContent(texts.get(i));
+            pages.add(page);
+        }
+        SplitPart splitPart = splitPartService.createSplitPart(doc, originalFilename, UNCLASSIFIED, originalFilename, pages);
+        // Keep the new document's side of the association usable within this persistence context
+        doc.setSplitParts(new ArrayList<>(List.of(splitPart)));
+        try {
+            // Last step, so a failed move rolls the rows back
+            pdfStorageService.storeOriginal(doc.getId(), incoming);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return doc;
+    }
+}
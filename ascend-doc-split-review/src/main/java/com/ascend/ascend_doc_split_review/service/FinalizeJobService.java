@@ -0,0 +1,229 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import com.ascend.ascend_doc_split_review.entity.FinalizeJob;
+import com.ascend.ascend_doc_split_review.entity.OriginalDocument;
+import com.ascend.ascend_doc_split_review.entity.SplitPart;
+import com.ascend.ascend_doc_split_review.repository.FinalizeJobRepository;
+import com.ascend.ascend_doc_split_review.repository.SplitPartRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Finalizes original documents in the background.
+ * <p>
+ * {@link #submit} locks the document (status FINALIZED) and records a queued job in one transaction; after
+ * commit the job goes to a pool of {@code finalize.concurrent-jobs} threads. Each job renders one PDF per split
+ * part on a shared pool of {@code finalize.render-workers} threads, so the request returns before any rendering
+ * starts. The queue of the job pool only holds job ids; the job rows are the durable queue, and jobs left queued
+ * or running by a shutdown are resumed at startup.
+ */
+@Service
+public class FinalizeJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FinalizeJobService.class);
+
+    static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private FinalizeJobRepository finalizeJobRepository;
+
+    @Autowired
+    private SplitPartRepository splitPartRepository;
+
+    @Autowired
+    private OriginalDocumentService originalDocumentService;
+
+    @Autowired
+    private PdfStorageService pdfStorageService;
+
+    @Autowired
+    private SplitPdfAssembler splitPdfAssembler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ThreadPoolExecutor jobExecutor;
+    private final ThreadPoolExecutor renderExecutor;
+
+    public FinalizeJobService(@Value("${finalize.concurrent-jobs}") int concurrentJobs,
+                              @Value("${finalize.render-workers}") int renderWorkers) {
+        this.jobExecutor = BoundedExecutors.newPool("finalize-job", BoundedExecutors.poolSize(concurrentJobs),
+                new LinkedBlockingQueue<>(), new ThreadPoolExecutor.AbortPolicy());
+        this.renderExecutor = BoundedExecutors.callerRuns("finalize-render", renderWorkers);
+    }
+
+    /**
+     * Finalizes the document and queues rendering of its split PDFs once the transaction commits. Finalizing an
+     * already finalized document returns its latest job unless that job failed, in which case rendering is retried.
+     */
+    @Transactional
+    @Retryable(
+            value = {TransientDataAccessException.class, OptimisticLockingFailureException.class},
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 100, multiplier = 2.0, maxDelay = 1000)
+    )
+    public FinalizeJob submit(Long documentId) {
+        // Locked before the status check so concurrent submits queue one job, after any pending layout change
+        OriginalDocument doc = originalDocumentService.lockForUpdate(documentId);
+        if (doc.getStatus() == OriginalDocument.Status.FINALIZED) {
+            Optional<FinalizeJob> latest = finalizeJobRepository.findFirstByOriginalDocumentIdOrderByIdDesc(documentId);
+            if (latest.isPresent() && latest.get().getStatus() != FinalizeJob.Status.FAILED) {
+                return latest.get();
+            }
+        } else {
+            doc = originalDocumentService.finalizeDocument(documentId);
+        }
+        FinalizeJob job = new FinalizeJob();
+        job.setOriginalDocument(doc);
+        job.setStatus(FinalizeJob.Status.QUEUED);
+        job.setCreatedAt(LocalDateTime.now());
+        FinalizeJob saved = finalizeJobRepository.save(job);
+        Long jobId = saved.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(jobId);
+            }
+        });
+        return saved;
+    }
+
+    public Optional<FinalizeJob> getJob(Long id, Long userId) {
+        return finalizeJobRepository.findByIdAndOriginalDocumentUserId(id, userId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void resumeUnfinishedJobs() {
+        List<FinalizeJob> unfinished = finalizeJobRepository.findByStatusIn(EnumSet.of(FinalizeJob.Status.QUEUED, FinalizeJob.Status.RUNNING));
+        for (FinalizeJob job : unfinished) {
+            logger.info("Resuming finalize job {} ({})", job.getId(), job.getStatus());
+            dispatch(job.getId());
+        }
+    }
+
+    private void dispatch(Long jobId) {
+        jobExecutor.execute(() -> run(jobId));
+    }
+
+    private void run(Long jobId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<Future<?>> futures = new ArrayList<>();
+        FinalizeJob.Status outcome = FinalizeJob.Status.FAILED;
+        String error = null;
+        // Everything after dispatch is inside the try: a failure anywhere fails the job instead of leaving it queued
+        try {
+            Optional<FinalizeJob> jobOpt = finalizeJobRepository.findById(jobId);
+            if (jobOpt.isEmpty()) {
+                return;
+            }
+            FinalizeJob job = jobOpt.get();
+            Long documentId = job.getOriginalDocument().getId();
+            List<SplitPart> parts = splitPartRepository.findByOriginalDocumentId(documentId).stream()
+                    .filter(sp -> sp.getFromPage() != null && sp.getToPage() != null)
+                    .toList();
+            job.setStatus(FinalizeJob.Status.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            job.setTotalParts(parts.size());
+            job.setCompletedParts(0);
+            job.setError(null);
+            finalizeJobRepository.save(job);
+
+            Path source = pdfStorageService.findOriginal(documentId)
+                    .orElseThrow(() -> new IllegalStateException("No source PDF stored for document " + documentId));
+            for (SplitPart part : parts) {
+                futures.add(renderExecutor.submit(() -> render(jobId, documentId, part, source)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            outcome = FinalizeJob.Status.SUCCEEDED;
+        } catch (InterruptedException e) {
+            // Shutting down: leave the job RUNNING so it is resumed at the next startup
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            error = describe(e.getCause());
+        } catch (RuntimeException e) {
+            futures.forEach(f -> f.cancel(true));
+            error = describe(e);
+        }
+        sample.stop(meterRegistry.timer("finalize.job", "status", outcome.name()));
+        finish(jobId, outcome, error);
+    }
+
+    private void render(Long jobId, Long documentId, SplitPart part, Path source) {
+        try {
+            Path rendered = pdfStorageService.newSplitFile(documentId);
+            try {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(rendered))) {
+                    splitPdfAssembler.writePages(source, List.of(new SplitPdfAssembler.PageRange(part.getFromPage(), part.getToPage())), out);
+                }
+                pdfStorageService.storeSplit(documentId, part.getId(), rendered);
+            } finally {
+                Files.deleteIfExists(rendered);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        finalizeJobRepository.incrementCompletedParts(jobId);
+    }
+
+    private void finish(Long jobId, FinalizeJob.Status status, String error) {
+        // Reload: render workers have advanced completedParts since the job was marked running
+        finalizeJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setError(error);
+            job.setFinishedAt(LocalDateTime.now());
+            finalizeJobRepository.save(job);
+        });
+        if (status == FinalizeJob.Status.FAILED) {
+            logger.warn("Finalize job {} failed: {}", jobId, error);
+        } else {
+            logger.info("Finalize job {} succeeded", jobId);
+        }
+    }
+
+    private static String describe(Throwable e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+        renderExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,56 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import com.ascend.ascend_doc_split_review.entity.OriginalDocument;
+import com.ascend.ascend_doc_split_review.entity.Page;
+import com.ascend.ascend_doc_split_review.entity.SplitPart;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+
+/**
+ * Second-level cache eviction for the set-based layout changes (page moves, layout edits, split part deletes).
+ * <p>
+ * For READ_WRITE regions Hibernate defers the eviction caused by a bulk UPDATE/DELETE to transaction
+ * completion, so the transaction that ran it would keep reading the old page assignments, ranges and
+ * deleted split parts from the cache. Call this after the bulk statements with the split parts and pages
+ * they touched; only those entries are evicted, so cached layouts of other documents stay warm for the
+ * rest of the transaction.
+ */
+@Service
+public class LayoutCacheEvictor {
+
+    private static final String SPLIT_PART_PAGES = SplitPart.class.getName() + ".pages";
+    private static final String DOCUMENT_SPLIT_PARTS = OriginalDocument.class.getName() + ".splitParts";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Evicts the given split parts with their page collections, and the split part collection of their document.
+     */
+    public void evictLayout(Long originalDocumentId, Collection<Long> splitPartIds) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (Long splitPartId : splitPartIds) {
+            cache.evictEntityData(SplitPart.class, splitPartId);
+            cache.evictCollectionData(SPLIT_PART_PAGES, splitPartId);
+        }
+        cache.evictCollectionData(DOCUMENT_SPLIT_PARTS, originalDocumentId);
+    }
+
+    // Pages reassigned by id; pages moved by range are only read through queries in the same transaction
+    public void evictPages(Collection<Long> pageIds) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (Long pageId : pageIds) {
+            cache.evictEntityData(Page.class, pageId);
+        }
+    }
+
+    // For rows written with plain JDBC, which Hibernate does not track in its query-cache timestamps
+    public void evictQueryResults() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+}
@@ -1,38 +1,71 @@
 package com.ascend.ascend_doc_split_review.service;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
+/**
+ * Generates mock PDFs on demand for any id.
+ * <p>
+ * Rendered files are kept in an LRU cache bounded by total size in bytes ({@code mock.download.cache-max-bytes}):
+ * an access-ordered {@link LinkedHashMap} guarded by its own lock, from which the least recently used files are
+ * dropped once the total goes over the budget. Concurrent requests for the same id share one in-flight render,
+ * and failed renders are not cached. Hits, misses, evictions and size are published as the
+ * {@code mockDownloadFiles} cache metrics, under the same names Micrometer uses for other caches.
+ */
 @Service
 public class MockDownloadService {
 
-    private static final int NUM_MOCK_FILES = 100;
-    private final Map<Long, byte[]> mockFiles = new HashMap<>();
-    private final Random random = new Random();
+    private static final String CACHE_NAME = "mockDownloadFiles";
 
-    public MockDownloadService() {
-        generateMockFiles();
-    }
+    private final long cacheMaxBytes;
+    // Access order: iteration starts at the least recently used file. Guarded by itself.
+    private final LinkedHashMap<Long, byte[]> mockFiles = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+    private final Map<Long, CompletableFuture<byte[]>> rendering = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final Random random = new Random();
 
-    private void generateMockFiles() {
-        for (long i = 1; i <= NUM_MOCK_FILES; i++) {
-            try {
-                mockFiles.put(i, generateRandomPDF(i));
-            } catch (IOException e) {
-                // Fallback to empty byte array
-                mockFiles.put(i, new byte[0]);
-            }
-        }
+    public MockDownloadService(MeterRegistry meterRegistry,
+                               @Value("${mock.download.cache-max-bytes}") long cacheMaxBytes) {
+        this.cacheMaxBytes = cacheMaxBytes;
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get)
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get)
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, AtomicLong::get)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, service -> service.cached(Map::size))
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        Gauge.builder("mock.download.cache.bytes", this, service -> service.cached(files -> cachedBytes))
+                .description("Total size of the cached mock PDFs")
+                .baseUnit("bytes")
+                .register(meterRegistry);
     }
 
     private byte[] generateRandomPDF(long id) throws IOException {
@@ -56,7 +89,60 @@ public class MockDownloadService {
         }
     }
 
+    @Timed("service.mock-download")
     public byte[] getMockFile(Long id) {
-        return mockFiles.getOrDefault(id, new byte[0]);
+        if (id == null) {
+            return new byte[0];
+        }
+        byte[] cached = cached(files -> files.get(id));
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        CompletableFuture<byte[]> render = new CompletableFuture<>();
+        CompletableFuture<byte[]> inFlight = rendering.putIfAbsent(id, render);
+        if (inFlight != null) {
+            // Another request is rendering this id: wait for its file
+            hits.incrementAndGet();
+            return inFlight.exceptionally(e -> new byte[0]).join();
+        }
+        try {
+            // A render that finished between the lookup above and putIfAbsent has already cached its file
+            byte[] pdf = cached(files -> files.get(id));
+            if (pdf != null) {
+                hits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+                pdf = generateRandomPDF(id);
+                cache(id, pdf);
+            }
+            render.complete(pdf);
+            return pdf;
+        } catch (IOException | RuntimeException e) {
+            // Fallback to empty byte array; the failed render is not cached
+            render.completeExceptionally(e);
+            return new byte[0];
+        } finally {
+            rendering.remove(id, render);
+        }
+    }
+
+    private void cache(Long id, byte[] pdf) {
+        synchronized (mockFiles) {
+            byte[] replaced = mockFiles.put(id, pdf);
+            cachedBytes += pdf.length - (replaced != null ? replaced.length : 0);
+            Iterator<byte[]> leastRecentlyUsed = mockFiles.values().iterator();
+            while (cachedBytes > cacheMaxBytes && leastRecentlyUsed.hasNext()) {
+                cachedBytes -= leastRecentlyUsed.next().length;
+                leastRecentlyUsed.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private <T> T cached(Function<LinkedHashMap<Long, byte[]>, T> read) {
+        synchronized (mockFiles) {
+            return read.apply(mockFiles);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,25 +1,73 @@
 package com.ascend.ascend_doc_split_review.service;
 
+import com.ascend.ascend_doc_split_review.dto.ChangeToken;
+import com.ascend.ascend_doc_split_review.dto.DocumentChangesResponse;
+import com.ascend.ascend_doc_split_review.dto.DocumentCursor;
+import com.ascend.ascend_doc_split_review.dto.DocumentListResponse;
+import com.ascend.ascend_doc_split_review.dto.DocumentSummaryResponse;
+import com.ascend.ascend_doc_split_review.dto.LayoutView;
+import com.ascend.ascend_doc_split_review.dto.OriginalDocumentResponse;
+import com.ascend.ascend_doc_split_review.dto.PageResponse;
+import com.ascend.ascend_doc_split_review.dto.SplitPartResponse;
 import com.ascend.ascend_doc_split_review.entity.OriginalDocument;
+import com.ascend.ascend_doc_split_review.entity.SplitPart;
 import com.ascend.ascend_doc_split_review.entity.User;
 import com.ascend.ascend_doc_split_review.repository.OriginalDocumentRepository;
+import com.ascend.ascend_doc_split_review.repository.PageRepository;
+import com.ascend.ascend_doc_split_review.repository.SplitPartRepository;
+import com.ascend.ascend_doc_split_review.repository.SplitPartTombstoneRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.dao.TransientDataAccessException;
 import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class OriginalDocumentService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private OriginalDocumentRepository originalDocumentRepository;
 
+    @Autowired
+    private SplitPartRepository splitPartRepository;
+
+    @Autowired
+    private SplitPartTombstoneRepository splitPartTombstoneRepository;
+
+    @Autowired
+    private PageRepository pageRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DocumentLocks documentLocks;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${locks.document.timeout-millis}")
+    private int lockTimeoutMillis;
+
     @Retryable(
             value = {TransientDataAccessException.class, OptimisticLockingFailureException.class},
             maxAttempts = 3,
@@ -35,46 +83,209 @@ public class OriginalDocumentService {
         return originalDocumentRepository.save(doc);
     }
 
+    /**
+     * Marks the document as changed inside the caller's transaction and flushes it, so the @Version column is
+     * bumped before this returns. Every change to the document's split parts or page layout calls this so the
+     * document ETag changes with it.
+     *
+     * @param expectedVersion version from the client's If-Match header, or null for an unconditional change
+     * @throws PreconditionFailedException if {@code expectedVersion} is no longer current
+     */
+    @Transactional
+    public OriginalDocument touch(Long id, Long expectedVersion) {
+        OriginalDocument doc = lockForUpdate(id);
+        if (doc.getStatus() == OriginalDocument.Status.FINALIZED) {
+            throw new IllegalArgumentException("Cannot modify a finalized document");
+        }
+        if (expectedVersion != null && !expectedVersion.equals(doc.getVersion())) {
+            throw new PreconditionFailedException("Original document " + id + " has been modified; expected version "
+                    + expectedVersion + ", current version " + doc.getVersion());
+        }
+        doc.setUpdatedAt(LocalDateTime.now());
+        return originalDocumentRepository.saveAndFlush(doc);
+    }
+
+    /**
+     * Serializes changes to one document's layout until the caller's transaction completes: first the in-process
+     * lock of {@link DocumentLocks}, then {@code SELECT ... FOR UPDATE} on the document row, which also covers
+     * other application instances. The locking statement reads only the version; if another transaction committed
+     * a change while this one waited, the document is re-read, so the result always reflects the latest commit.
+     *
+     * @throws org.springframework.dao.CannotAcquireLockException if the document stays locked past
+     *         {@code locks.document.timeout-millis}
+     */
+    @Transactional
+    public OriginalDocument lockForUpdate(Long id) {
+        OriginalDocument doc = originalDocumentRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Original document not found"));
+        if (documentLocks.lockUntilCompletion(id)) {
+            Long lockedVersion = entityManager.createQuery("select d.version from OriginalDocument d where d.id = :id", Long.class)
+                    .setParameter("id", id)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .setHint(SpecHints.HINT_SPEC_LOCK_TIMEOUT, lockTimeoutMillis)
+                    .getSingleResult();
+            if (!lockedVersion.equals(doc.getVersion())) {
+                entityManager.refresh(doc);
+            }
+        }
+        return doc;
+    }
+
+    /**
+     * The version a split part or tombstone changed along with the document is stamped with, so delta sync can
+     * select them by document version. {@link #touch} has already flushed the bump, so this is a version the
+     * transaction really commits at or below, above every version a client read before it; that holds however
+     * often the document is touched or flushed in one transaction.
+     */
+    static long changeVersion(OriginalDocument touched) {
+        return touched.getVersion();
+    }
+
+    /**
+     * Split parts created, changed or deleted after the version in {@code since}, plus a token for the next call.
+     * Without a token every split part is returned. The document version is read before the split parts, so a
+     * change committed in between is sent again next time rather than missed.
+     */
+    @Transactional(readOnly = true)
+    public Optional<DocumentChangesResponse> getChanges(Long id, Long userId, String since) {
+        Optional<OriginalDocument> docOpt = originalDocumentRepository.findById(id)
+                .filter(doc -> doc.getUser().getId().equals(userId));
+        if (docOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        OriginalDocument doc = docOpt.get();
+        List<SplitPartResponse> changed;
+        List<Long> deleted;
+        if (since == null || since.isBlank()) {
+            changed = splitPartRepository.findResponsesByOriginalDocumentId(id);
+            changed.sort(Comparator.comparing(SplitPartResponse::getId));
+            setPages(changed, pageRepository.findAssignmentsByOriginalDocumentId(id));
+            deleted = List.of();
+        } else {
+            ChangeToken token = ChangeToken.decode(since);
+            if (!token.documentId().equals(id)) {
+                throw new IllegalArgumentException("Change token belongs to another document");
+            }
+            if (token.version() > doc.getVersion()) {
+                throw new IllegalArgumentException("Change token is ahead of the document");
+            }
+            changed = splitPartRepository.findResponsesChangedSince(id, token.version());
+            if (!changed.isEmpty()) {
+                setPages(changed, pageRepository.findAssignmentsBySplitPartIdIn(changed.stream().map(SplitPartResponse::getId).toList()));
+            }
+            deleted = splitPartTombstoneRepository.findSplitPartIdsChangedSince(id, token.version());
+        }
+        return Optional.of(new DocumentChangesResponse(id, doc.getStatus(), doc.getVersion(),
+                new ChangeToken(id, doc.getVersion()).encode(), changed, deleted));
+    }
+
+    public Optional<Long> getVersion(Long id, Long userId) {
+        return originalDocumentRepository.findVersionByIdAndUserId(id, userId);
+    }
+
     public Optional<OriginalDocument> getById(Long id) {
         return originalDocumentRepository.findById(id);
     }
 
+    /**
+     * Loads a document with its owner, split parts and pages fully initialized (two statements),
+     * so the result can be mapped to a response without an open session.
+     */
+    @Transactional(readOnly = true)
+    public Optional<OriginalDocument> getWithLayout(Long id) {
+        Optional<OriginalDocument> doc = originalDocumentRepository.findWithSplitPartsById(id);
+        if (doc.isPresent() && !doc.get().getSplitParts().isEmpty()) {
+            // Same persistence context: populates the pages of the split parts loaded above
+            splitPartRepository.findWithPagesByOriginalDocumentId(id);
+        }
+        return doc;
+    }
+
+    /**
+     * The document in the requested view. Summary and pages are built from projection queries whose cost
+     * depends on the number of split parts and pages, not on page content; summary reads no Page rows at all.
+     */
+    @Transactional(readOnly = true)
+    public Optional<OriginalDocumentResponse> getResponse(Long id, LayoutView view) {
+        if (view == LayoutView.FULL) {
+            return getWithLayout(id).map(OriginalDocumentResponse::fromEntity);
+        }
+        Optional<OriginalDocument> doc = originalDocumentRepository.findById(id);
+        if (doc.isEmpty()) {
+            return Optional.empty();
+        }
+        List<SplitPartResponse> splitParts = splitPartRepository.findResponsesByOriginalDocumentId(id);
+        if (view == LayoutView.PAGES) {
+            setPages(splitParts, pageRepository.findAssignmentsByOriginalDocumentId(id));
+        }
+        return Optional.of(OriginalDocumentResponse.fromEntity(doc.get(), splitParts));
+    }
+
+    // Pages view of each split part: page ids and numbers in page order, no content
+    private static void setPages(List<SplitPartResponse> splitParts, List<PageRepository.PageAssignment> assignments) {
+        Map<Long, List<PageResponse>> pagesBySplit = new HashMap<>();
+        assignments.stream()
+                .sorted(Comparator.comparing(PageRepository.PageAssignment::getPageNumber))
+                .forEach(a -> pagesBySplit.computeIfAbsent(a.getSplitPartId(), k -> new ArrayList<>())
+                        .add(new PageResponse(a.getId(), a.getPageNumber())));
+        splitParts.forEach(sp -> sp.setPages(pagesBySplit.getOrDefault(sp.getId(), List.of())));
+    }
+
     public List<OriginalDocument> getByUser(Long userId) {
         return originalDocumentRepository.findByUserId(userId);
     }
 
+    /**
+     * One page of the user's documents, newest first, using keyset pagination on (createdAt, id).
+     * Fetches one extra row to know whether a next page exists.
+     */
+    @Transactional(readOnly = true)
+    public DocumentListResponse listSummaries(Long userId, OriginalDocument.Status status, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Limit limit = Limit.of(size + 1);
+        List<DocumentSummaryResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = originalDocumentRepository.findSummariesByUserId(userId, status, limit);
+        } else {
+            DocumentCursor position = DocumentCursor.decode(cursor);
+            rows = originalDocumentRepository.findSummariesByUserIdAfter(userId, status, position.createdAt(), position.id(), limit);
+        }
+        if (rows.size() <= size) {
+            return new DocumentListResponse(rows, null);
+        }
+        List<DocumentSummaryResponse> page = rows.subList(0, size);
+        return new DocumentListResponse(List.copyOf(page), DocumentCursor.of(page.get(size - 1)).encode());
+    }
+
+    @Transactional
     @Retryable(
             value = {TransientDataAccessException.class, OptimisticLockingFailureException.class},
             maxAttempts = 3,
             backoff = @Backoff(delay = 100, multiplier = 2.0, maxDelay = 1000)
     )
     public OriginalDocument finalizeDocument(Long id) {
-        Optional<OriginalDocument> opt = originalDocumentRepository.findById(id);
-        if (opt.isPresent()) {
-            OriginalDocument doc = opt.get();
-            doc.setStatus(OriginalDocument.Status.FINALIZED);
-            doc.setUpdatedAt(LocalDateTime.now());
-            return originalDocumentRepository.save(doc);
-        }
-        throw new RuntimeException("Original document not found");
+        OriginalDocument doc = lockForUpdate(id);
+        doc.setStatus(OriginalDocument.Status.FINALIZED);
+        doc.setUpdatedAt(LocalDateTime.now());
+        eventPublisher.publishEvent(DocumentChangeEvent.of(id, DocumentChangeEvent.Type.DOCUMENT_FINALIZED, List.of()));
+        return originalDocumentRepository.save(doc);
     }
 
+    @Transactional
     @Retryable(
             value = {TransientDataAccessException.class, OptimisticLockingFailureException.class},
             maxAttempts = 3,
             backoff = @Backoff(delay = 100, multiplier = 2.0, maxDelay = 1000)
     )
     public void deleteOriginalDocument(Long id) {
-        Optional<OriginalDocument> opt = originalDocumentRepository.findById(id);
-        if (opt.isPresent()) {
-            OriginalDocument doc = opt.get();
-            if (doc.getStatus() == OriginalDocument.Status.FINALIZED) {
-                throw new IllegalArgumentException("Cannot delete a finalized document");
-            }
-            originalDocumentRepository.delete(doc);
-            return;
+        OriginalDocument doc = lockForUpdate(id);
+        if (doc.getStatus() == OriginalDocument.Status.FINALIZED) {
+            throw new IllegalArgumentException("Cannot delete a finalized document");
         }
-        throw new RuntimeException("Original document not found");
+        originalDocumentRepository.delete(doc);
+        splitPartTombstoneRepository.deleteByOriginalDocumentId(id);
     }
 }
 
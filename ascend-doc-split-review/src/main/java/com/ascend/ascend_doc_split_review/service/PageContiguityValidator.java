@@ -0,0 +1,81 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import java.util.BitSet;
+
+/**
+ * Validates that split parts stay contiguous by page number after pages are added or removed.
+ * <p>
+ * Page numbers are handled as {@code int[]} and marked in a {@link BitSet} that is reused between
+ * checks, so each check is a single linear pass with no boxing, sorting or {@code contains} lookups.
+ * Instances are cheap but not thread-safe; create one per validation.
+ */
+public class PageContiguityValidator {
+
+    private final BitSet scratch = new BitSet();
+    private final ContiguityReport report = new ContiguityReport();
+
+    /**
+     * Checks the target split part once {@code moving} pages are added to its {@code existing} pages.
+     * Duplicates (pages already in the target) are allowed.
+     */
+    public PageContiguityValidator checkTarget(Long splitPartId, int[] existing, int[] moving) {
+        scratch.clear();
+        mark(existing);
+        mark(moving);
+        collectGaps(splitPartId, ContiguityReport.Side.TARGET);
+        return this;
+    }
+
+    /**
+     * Checks a source split part once {@code removed} pages leave its {@code existing} pages.
+     * A source that ends up empty is considered contiguous.
+     */
+    public PageContiguityValidator checkSource(Long splitPartId, int[] existing, int[] removed) {
+        scratch.clear();
+        mark(existing);
+        for (int page : removed) {
+            if (page >= 0) {
+                scratch.clear(page);
+            }
+        }
+        collectGaps(splitPartId, ContiguityReport.Side.SOURCE);
+        return this;
+    }
+
+    /**
+     * Checks the final page set of a split part.
+     */
+    public PageContiguityValidator checkPages(Long splitPartId, int[] pages, ContiguityReport.Side side) {
+        scratch.clear();
+        mark(pages);
+        collectGaps(splitPartId, side);
+        return this;
+    }
+
+    public ContiguityReport report() {
+        return report;
+    }
+
+    private void mark(int[] pages) {
+        for (int page : pages) {
+            if (page < 0) {
+                throw new IllegalArgumentException("Page numbers must not be negative: " + page);
+            }
+            scratch.set(page);
+        }
+    }
+
+    private void collectGaps(Long splitPartId, ContiguityReport.Side side) {
+        int first = scratch.nextSetBit(0);
+        if (first < 0) {
+            return;
+        }
+        int last = scratch.length() - 1;
+        int missing = scratch.nextClearBit(first);
+        while (missing < last) {
+            int nextPresent = scratch.nextSetBit(missing);
+            report.addGap(splitPartId, side, missing, nextPresent - 1);
+            missing = scratch.nextClearBit(nextPresent);
+        }
+    }
+}
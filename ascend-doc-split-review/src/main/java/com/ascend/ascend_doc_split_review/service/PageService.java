@@ -1,11 +1,16 @@
 package com.ascend.ascend_doc_split_review.service;
 
+import com.ascend.ascend_doc_split_review.dto.MovePagesRequest;
 import com.ascend.ascend_doc_split_review.entity.SplitPart;
 import com.ascend.ascend_doc_split_review.entity.Page;
 import com.ascend.ascend_doc_split_review.entity.OriginalDocument;
 import com.ascend.ascend_doc_split_review.repository.SplitPartRepository;
 import com.ascend.ascend_doc_split_review.repository.PageRepository;
+import com.ascend.ascend_doc_split_review.repository.SplitPartTombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.retry.annotation.Backoff;
@@ -13,8 +18,13 @@ import org.springframework.retry.annotation.Retryable;
 import org.springframework.dao.TransientDataAccessException;
 import org.springframework.dao.OptimisticLockingFailureException;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
@@ -27,6 +37,21 @@ public class PageService {
     @Autowired
     private SplitPartRepository splitPartRepository;
 
+    @Autowired
+    private SplitPartTombstoneRepository splitPartTombstoneRepository;
+
+    @Autowired
+    private OriginalDocumentService originalDocumentService;
+
+    @Autowired
+    private LayoutCacheEvictor layoutCacheEvictor;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     public Page createPage(SplitPart splitPart, Integer pageNumber, String content) {
         Page page = new Page();
         page.setSplitPart(splitPart);
@@ -39,32 +64,8 @@ public class PageService {
         return pageRepository.findBySplitPartId(splitPartId);
     }
 
-    private void recomputeAndSaveRange(SplitPart splitPart) {
-        List<Page> currentPages = pageRepository.findBySplitPartId(splitPart.getId());
-        if (currentPages.isEmpty()) {
-            splitPart.setFromPage(null);
-            splitPart.setToPage(null);
-        } else {
-            int minPage = currentPages.stream().map(Page::getPageNumber).min(Integer::compareTo).orElse(0);
-            int maxPage = currentPages.stream().map(Page::getPageNumber).max(Integer::compareTo).orElse(0);
-            splitPart.setFromPage(minPage);
-            splitPart.setToPage(maxPage);
-        }
-        splitPartRepository.save(splitPart);
-    }
-
-    private boolean isContiguous(List<Integer> pageNumbers) {
-        if (pageNumbers.isEmpty()) return true;
-        List<Integer> sortedDistinct = pageNumbers.stream().distinct().sorted().toList();
-        for (int i = 1; i < sortedDistinct.size(); i++) {
-            if (sortedDistinct.get(i) - sortedDistinct.get(i - 1) != 1) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     // Better method
+    @Timed(value = "service.pages.move", extraTags = {"operation", "single"})
     @Transactional
     @Retryable(
             value = {TransientDataAccessException.class, OptimisticLockingFailureException.class},
@@ -72,16 +73,35 @@ public class PageService {
             backoff = @Backoff(delay = 100, multiplier = 2.0, maxDelay = 1000)
     )
     public void movePagesToSplitPart(List<Long> pageIds, SplitPart targetSplitPart) {
-        if (targetSplitPart.getOriginalDocument().getStatus() == OriginalDocument.Status.FINALIZED) {
-            throw new IllegalArgumentException("Cannot modify a finalized document");
+        movePagesToSplitPart(pageIds, targetSplitPart, null);
+    }
+
+    /**
+     * @param expectedDocumentVersion version of the original document the client based the move on
+     *                                (If-Match), or null to move unconditionally
+     */
+    @Timed(value = "service.pages.move", extraTags = {"operation", "single"})
+    @Transactional
+    @Retryable(
+            value = {TransientDataAccessException.class, OptimisticLockingFailureException.class},
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 100, multiplier = 2.0, maxDelay = 1000)
+    )
+    public void movePagesToSplitPart(List<Long> pageIds, SplitPart targetSplitPart, Long expectedDocumentVersion) {
+        if (!pageRepository.existsByIdIn(pageIds)) {
+            // Nothing moves: neither lock the document nor bump its version
+            return;
         }
-        if (targetSplitPart.getStatus() == SplitPart.Status.FINALIZED) {
+        Long documentId = targetSplitPart.getOriginalDocument().getId();
+        Long targetId = targetSplitPart.getId();
+        long changeVersion = OriginalDocumentService.changeVersion(originalDocumentService.touch(documentId, expectedDocumentVersion));
+        // Target and pages are read under the document lock, so a move or finalize committed meanwhile is seen
+        SplitPart target = splitPartRepository.findById(targetId)
+                .orElseThrow(() -> new IllegalArgumentException("Target split part not found: " + targetId));
+        if (target.getStatus() == SplitPart.Status.FINALIZED) {
             throw new IllegalArgumentException("Cannot move pages into a finalized split part");
         }
         List<Page> pages = pageRepository.findByIdIn(pageIds);
-        if (pages.isEmpty()) {
-            return;
-        }
         // Group pages by their current source document
         Map<SplitPart, List<Page>> bySource = pages.stream()
                 .collect(Collectors.groupingBy(Page::getSplitPart));
@@ -91,59 +111,183 @@ public class PageService {
                 throw new IllegalArgumentException("All pages must belong to a document");
             }
             // Same split constraint
-            if (!source.getOriginalDocument().getId().equals(targetSplitPart.getOriginalDocument().getId())) {
+            if (!source.getOriginalDocument().getId().equals(documentId)) {
                 throw new IllegalArgumentException("Cannot move pages across different original documents");
             }
-            if (source.getOriginalDocument().getStatus() == OriginalDocument.Status.FINALIZED) {
-                throw new IllegalArgumentException("Cannot modify a finalized document");
-            }
             if (source.getStatus() == SplitPart.Status.FINALIZED) {
                 throw new IllegalArgumentException("Cannot move pages from a finalized split part");
             }
         }
-        // Contiguity validation for target
-        List<Integer> targetExisting = pageRepository.findBySplitPartId(targetSplitPart.getId())
-                .stream().map(Page::getPageNumber).toList();
-        List<Integer> movingNumbers = pages.stream().map(Page::getPageNumber).toList();
-        List<Integer> targetCombined = Stream.concat(targetExisting.stream(), movingNumbers.stream()).toList();
-        if (!isContiguous(targetCombined)) {
-            throw new IllegalArgumentException("Move rejected: target split would become non-contiguous. Include all pages in the range.");
-        }
-        // Contiguity validation for each source after removal
+        // Contiguity validation for target and for each source after removal
+        PageContiguityValidator validator = new PageContiguityValidator();
+        int[] targetPageNumbers = toArray(pageRepository.findPageNumbersBySplitPartId(targetId));
+        validator.checkTarget(targetId, targetPageNumbers,
+                pages.stream().mapToInt(Page::getPageNumber).toArray());
         for (Map.Entry<SplitPart, List<Page>> entry : bySource.entrySet()) {
             SplitPart source = entry.getKey();
-            if (source.getId().equals(targetSplitPart.getId())) {
+            if (source.getId().equals(targetId)) {
                 // Same split; contiguity already checked via combined set
                 continue;
             }
-            List<Integer> sourceExisting = pageRepository.findBySplitPartId(source.getId())
-                    .stream().map(Page::getPageNumber).toList();
-            List<Integer> removed = entry.getValue().stream().map(Page::getPageNumber).toList();
-            List<Integer> remaining = sourceExisting.stream()
-                    .filter(n -> !removed.contains(n))
-                    .toList();
-            if (!remaining.isEmpty() && !isContiguous(remaining)) {
-                throw new IllegalArgumentException("Move rejected: source split would become non-contiguous. Move full contiguous ranges.");
-            }
+            validator.checkSource(source.getId(),
+                    toArray(pageRepository.findPageNumbersBySplitPartId(source.getId())),
+                    entry.getValue().stream().mapToInt(Page::getPageNumber).toArray());
         }
-        // Perform move
-        for (Page page : pages) {
-            page.setSplitPart(targetSplitPart);
-            pageRepository.save(page);
-        }
-        // Recompute ranges for affected split parts and remove any now-empty sources
-        for (SplitPart source : bySource.keySet()) {
-            if (!source.getId().equals(targetSplitPart.getId())) {
-                List<Page> remainingPages = pageRepository.findBySplitPartId(source.getId());
-                long remaining = remainingPages.size();
-                if (remaining == 0) {
-                    splitPartRepository.delete(source);
-                } else {
-                    recomputeAndSaveRange(source);
+        ContiguityReport report = validator.report();
+        if (report.hasGaps(ContiguityReport.Side.TARGET)) {
+            throw new IllegalArgumentException("Move rejected: target split would become non-contiguous. Include all pages in the range. Missing pages: "
+                    + report.describe(ContiguityReport.Side.TARGET));
+        }
+        if (report.hasGaps(ContiguityReport.Side.SOURCE)) {
+            throw new IllegalArgumentException("Move rejected: source split would become non-contiguous. Move full contiguous ranges. Gaps left at pages: "
+                    + report.describe(ContiguityReport.Side.SOURCE));
+        }
+        List<Long> sourceIds = bySource.keySet().stream()
+                .map(SplitPart::getId)
+                .filter(id -> !id.equals(targetId))
+                .toList();
+        // Perform move as a single UPDATE, then drop emptied sources and recompute ranges in SQL
+        pageRepository.reassignByIdIn(pages.stream().map(Page::getId).toList(), target);
+        long joined = pages.stream().filter(p -> !p.getSplitPart().getId().equals(targetId)).count();
+        meterRegistry.summary("pages.moved", "operation", "single").record(pages.size());
+        meterRegistry.summary("split.part.pages").record(targetPageNumbers.length + joined);
+        if (!sourceIds.isEmpty()) {
+            splitPartTombstoneRepository.insertForEmptyByIdIn(sourceIds, changeVersion);
+            splitPartRepository.deleteEmptyByIdIn(sourceIds);
+        }
+        List<Long> affected = Stream.concat(sourceIds.stream(), Stream.of(targetId)).toList();
+        splitPartRepository.recomputeRanges(affected, changeVersion, LocalDateTime.now());
+        layoutCacheEvictor.evictLayout(documentId, affected);
+        layoutCacheEvictor.evictPages(pages.stream().map(Page::getId).toList());
+        eventPublisher.publishEvent(DocumentChangeEvent.of(documentId, DocumentChangeEvent.Type.PAGES_MOVED, affected));
+    }
+
+    /**
+     * Applies an ordered list of moves within one original document in a single transaction.
+     * <p>
+     * Moves are replayed in memory against the document's page assignments, so intermediate
+     * states may be non-contiguous; only the final layout is validated, once per affected split part.
+     * Pages are then reassigned with one UPDATE per distinct target, emptied split parts are removed
+     * and each affected range is recomputed once.
+     */
+    @Timed(value = "service.pages.move", extraTags = {"operation", "batch"})
+    @Transactional
+    @Retryable(
+            value = {TransientDataAccessException.class, OptimisticLockingFailureException.class},
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 100, multiplier = 2.0, maxDelay = 1000)
+    )
+    public void applyMoves(OriginalDocument document, List<MovePagesRequest> moves, Long expectedDocumentVersion) {
+        if (document.getStatus() == OriginalDocument.Status.FINALIZED) {
+            throw new IllegalArgumentException("Cannot modify a finalized document");
+        }
+        long changeVersion = OriginalDocumentService.changeVersion(originalDocumentService.touch(document.getId(), expectedDocumentVersion));
+        Map<Long, SplitPart> splits = splitPartRepository.findByOriginalDocumentId(document.getId()).stream()
+                .collect(Collectors.toMap(SplitPart::getId, sp -> sp));
+        List<PageRepository.PageAssignment> assignments = pageRepository.findAssignmentsByOriginalDocumentId(document.getId());
+        Map<Long, Long> originalSplit = new HashMap<>(assignments.size() * 2);
+        Map<Long, Integer> pageNumbers = new HashMap<>(assignments.size() * 2);
+        for (PageRepository.PageAssignment a : assignments) {
+            originalSplit.put(a.getId(), a.getSplitPartId());
+            pageNumbers.put(a.getId(), a.getPageNumber());
+        }
+
+        // Replay the moves in memory
+        Map<Long, Long> finalSplit = new HashMap<>(originalSplit);
+        Set<Long> affected = new HashSet<>();
+        for (MovePagesRequest move : moves) {
+            SplitPart target = splits.get(move.getTargetSplitPartId());
+            if (target == null) {
+                throw new IllegalArgumentException("Target split part " + move.getTargetSplitPartId() + " does not belong to original document " + document.getId());
+            }
+            if (target.getStatus() == SplitPart.Status.FINALIZED) {
+                throw new IllegalArgumentException("Cannot move pages into a finalized split part");
+            }
+            for (Long pageId : move.getPageIds()) {
+                Long current = finalSplit.get(pageId);
+                if (current == null) {
+                    throw new IllegalArgumentException("Page " + pageId + " does not belong to original document " + document.getId());
                 }
+                if (splits.get(current).getStatus() == SplitPart.Status.FINALIZED) {
+                    throw new IllegalArgumentException("Cannot move pages from a finalized split part");
+                }
+                affected.add(current);
+                finalSplit.put(pageId, target.getId());
+            }
+            affected.add(target.getId());
+        }
+
+        // Net page changes, grouped by final split part
+        Map<Long, List<Long>> reassigned = new HashMap<>();
+        for (Map.Entry<Long, Long> entry : finalSplit.entrySet()) {
+            if (!entry.getValue().equals(originalSplit.get(entry.getKey()))) {
+                reassigned.computeIfAbsent(entry.getValue(), k -> new ArrayList<>()).add(entry.getKey());
             }
         }
-        // Finally, recompute target range after pages have been moved
-        recomputeAndSaveRange(targetSplitPart);
+        if (reassigned.isEmpty()) {
+            return;
+        }
+
+        // Validate the final layout once per affected split part
+        Map<Long, int[]> finalPages = pagesBySplit(finalSplit, pageNumbers, affected);
+        PageContiguityValidator validator = new PageContiguityValidator();
+        for (Map.Entry<Long, int[]> entry : finalPages.entrySet()) {
+            validator.checkPages(entry.getKey(), entry.getValue(), ContiguityReport.Side.TARGET);
+        }
+        ContiguityReport report = validator.report();
+        if (!report.isContiguous()) {
+            String gaps = report.getGaps().stream()
+                    .map(g -> "split part " + g.splitPartId() + " pages " + g)
+                    .collect(Collectors.joining("; "));
+            throw new IllegalArgumentException("Batch move rejected: final layout would be non-contiguous (" + gaps + ")");
+        }
+
+        int moved = 0;
+        for (Map.Entry<Long, List<Long>> entry : reassigned.entrySet()) {
+            pageRepository.reassignByIdIn(entry.getValue(), splitPartRepository.getReferenceById(entry.getKey()));
+            moved += entry.getValue().size();
+        }
+        meterRegistry.summary("pages.moved", "operation", "batch").record(moved);
+        finalPages.values().forEach(numbers -> meterRegistry.summary("split.part.pages").record(numbers.length));
+        List<Long> emptied = affected.stream().filter(id -> !finalPages.containsKey(id)).toList();
+        if (!emptied.isEmpty()) {
+            splitPartTombstoneRepository.insertForEmptyByIdIn(emptied, changeVersion);
+            splitPartRepository.deleteEmptyByIdIn(emptied);
+        }
+        splitPartRepository.recomputeRanges(finalPages.keySet(), changeVersion, LocalDateTime.now());
+        layoutCacheEvictor.evictLayout(document.getId(), affected);
+        reassigned.values().forEach(layoutCacheEvictor::evictPages);
+        eventPublisher.publishEvent(DocumentChangeEvent.of(document.getId(), DocumentChangeEvent.Type.PAGES_MOVED, affected));
+    }
+
+    private static Map<Long, int[]> pagesBySplit(Map<Long, Long> assignment, Map<Long, Integer> pageNumbers, Set<Long> splitIds) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Long splitId : assignment.values()) {
+            if (splitIds.contains(splitId)) {
+                counts.merge(splitId, 1, Integer::sum);
+            }
+        }
+        Map<Long, int[]> pages = new HashMap<>();
+        Map<Long, Integer> fill = new HashMap<>();
+        counts.forEach((splitId, count) -> {
+            pages.put(splitId, new int[count]);
+            fill.put(splitId, 0);
+        });
+        for (Map.Entry<Long, Long> entry : assignment.entrySet()) {
+            int[] target = pages.get(entry.getValue());
+            if (target != null) {
+                int i = fill.merge(entry.getValue(), 1, Integer::sum) - 1;
+                target[i] = pageNumbers.get(entry.getKey());
+            }
+        }
+        return pages;
+    }
+
+    private static int[] toArray(List<Integer> pageNumbers) {
+        int[] result = new int[pageNumbers.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = pageNumbers.get(i);
+        }
+        return result;
     }
-}
\ No newline at end of file
+}
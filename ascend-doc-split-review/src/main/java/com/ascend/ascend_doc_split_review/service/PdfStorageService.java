@@ -0,0 +1,74 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Locates source PDFs of original documents on the local file system.
+ * Originals are stored as {@code <storage.pdf.dir>/originals/<documentId>.pdf}; uploads are staged in
+ * {@code <storage.pdf.dir>/incoming} so storing them is a rename on the same file system. Split PDFs rendered at
+ * finalization are stored as {@code <storage.pdf.dir>/splits/<documentId>/<splitPartId>.pdf}.
+ */
+@Service
+public class PdfStorageService {
+
+    private final Path originalsDir;
+    private final Path incomingDir;
+    private final Path splitsDir;
+
+    public PdfStorageService(@Value("${storage.pdf.dir}") String storageDir) {
+        this.originalsDir = Paths.get(storageDir).resolve("originals");
+        this.incomingDir = Paths.get(storageDir).resolve("incoming");
+        this.splitsDir = Paths.get(storageDir).resolve("splits");
+    }
+
+    public Path originalPath(Long originalDocumentId) {
+        return originalsDir.resolve(originalDocumentId + ".pdf");
+    }
+
+    public Optional<Path> findOriginal(Long originalDocumentId) {
+        Path path = originalPath(originalDocumentId);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public Path newIncomingFile() throws IOException {
+        Files.createDirectories(incomingDir);
+        return Files.createTempFile(incomingDir, "upload-", ".pdf");
+    }
+
+    public Path storeOriginal(Long originalDocumentId, Path incoming) throws IOException {
+        Files.createDirectories(originalsDir);
+        return Files.move(incoming, originalPath(originalDocumentId), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public Path splitPath(Long originalDocumentId, Long splitPartId) {
+        return splitsDir.resolve(originalDocumentId.toString()).resolve(splitPartId + ".pdf");
+    }
+
+    public Optional<Path> findSplit(Long originalDocumentId, Long splitPartId) {
+        Path path = splitPath(originalDocumentId, splitPartId);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * A temp file next to the document's split PDFs; {@link #storeSplit} publishes it with an atomic rename,
+     * so readers never see a partly written split.
+     */
+    public Path newSplitFile(Long originalDocumentId) throws IOException {
+        Path dir = splitsDir.resolve(originalDocumentId.toString());
+        Files.createDirectories(dir);
+        return Files.createTempFile(dir, "render-", ".tmp");
+    }
+
+    public Path storeSplit(Long originalDocumentId, Long splitPartId, Path rendered) throws IOException {
+        return Files.move(rendered, splitPath(originalDocumentId, splitPartId),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
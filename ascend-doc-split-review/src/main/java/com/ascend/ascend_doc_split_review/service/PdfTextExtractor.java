@@ -0,0 +1,106 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Extracts the text of every page of a PDF on a bounded worker pool.
+ * <p>
+ * The page range is split into contiguous chunks, one per worker. PDFBox documents are not thread-safe, so
+ * each task loads its own copy of the file with temp-file-only buffering; heap use does not grow with the
+ * size of the PDF. When the pool and its queue are full the submitting thread runs the task itself.
+ */
+@Service
+public class PdfTextExtractor {
+
+    // Below this a chunk is not worth loading the document once more
+    static final int MIN_PAGES_PER_TASK = 16;
+
+    private final int workers;
+    private final ThreadPoolExecutor executor;
+
+    public PdfTextExtractor(@Value("${extraction.workers}") int workers) {
+        this.workers = BoundedExecutors.poolSize(workers);
+        this.executor = BoundedExecutors.callerRuns("pdf-extract", this.workers);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the file is not a readable PDF
+     */
+    public int pageCount(Path pdf) throws IOException {
+        try (PDDocument document = load(pdf)) {
+            return document.getNumberOfPages();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Not a readable PDF: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return the text of pages 1..pageCount, in page order
+     */
+    public List<String> extractPages(Path pdf, int pageCount) throws IOException {
+        int tasks = Math.max(1, Math.min(workers, (pageCount + MIN_PAGES_PER_TASK - 1) / MIN_PAGES_PER_TASK));
+        int chunk = (pageCount + tasks - 1) / tasks;
+        List<Future<List<String>>> futures = new ArrayList<>(tasks);
+        for (int from = 1; from <= pageCount; from += chunk) {
+            int first = from;
+            int last = Math.min(pageCount, from + chunk - 1);
+            futures.add(executor.submit(() -> extractRange(pdf, first, last)));
+        }
+        List<String> texts = new ArrayList<>(pageCount);
+        try {
+            for (Future<List<String>> future : futures) {
+                texts.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while extracting " + pdf, e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IllegalStateException("Text extraction failed for " + pdf, e.getCause());
+        }
+        return texts;
+    }
+
+    private List<String> extractRange(Path pdf, int firstPage, int lastPage) {
+        try (PDDocument document = load(pdf)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            List<String> texts = new ArrayList<>(lastPage - firstPage + 1);
+            for (int page = firstPage; page <= lastPage; page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                texts.add(stripper.getText(document).strip());
+            }
+            return texts;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static PDDocument load(Path pdf) throws IOException {
+        return Loader.loadPDF(pdf.toFile(), MemoryUsageSetting.setupTempFileOnly().streamCache);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,10 @@
+package com.ascend.ascend_doc_split_review.service;
+
+/**
+ * Thrown when a conditional request (If-Match) targets a version that is no longer current.
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
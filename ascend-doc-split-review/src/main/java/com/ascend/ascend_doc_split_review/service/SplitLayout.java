@@ -0,0 +1,211 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import com.ascend.ascend_doc_split_review.repository.SplitPartRepository;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The page layout of one original document as consecutive segments: a sorted array of segment start pages and
+ * the split part owning each segment. Segment {@code i} ends where segment {@code i + 1} starts; the last one
+ * ends at {@link #lastPage()}. Pages between two split parts that belong to neither form a segment owned by
+ * {@link #UNASSIGNED}.
+ * <p>
+ * Lookups by page are binary searches. Every operation reports the one run of consecutive pages that changes
+ * owner together with the new ranges, so callers can persist it with a range UPDATE and two range writes.
+ */
+final class SplitLayout {
+
+    static final long UNASSIGNED = 0;
+
+    record Range(int fromPage, int toPage) {
+        int size() {
+            return toPage - fromPage + 1;
+        }
+    }
+
+    /**
+     * Pages {@code pages} move from {@code sourceId} to {@code targetId}. {@code sourceRange} is null when the
+     * source split part lost all its pages.
+     */
+    record Change(long sourceId, long targetId, Range pages, Range sourceRange, Range targetRange) {
+    }
+
+    private int[] starts;
+    private long[] owners;
+    private int size;
+    private final int lastPage;
+
+    private SplitLayout(int[] starts, long[] owners, int size, int lastPage) {
+        this.starts = starts;
+        this.owners = owners;
+        this.size = size;
+        this.lastPage = lastPage;
+    }
+
+    /**
+     * Builds the layout from the stored split part ranges; split parts without pages have no range and are left out.
+     *
+     * @throws IllegalArgumentException if two ranges overlap, i.e. the document is not laid out contiguously
+     */
+    static SplitLayout of(List<? extends SplitPartRepository.SplitPartRange> ranges) {
+        List<? extends SplitPartRepository.SplitPartRange> sorted = ranges.stream()
+                .filter(r -> r.getFromPage() != null && r.getToPage() != null)
+                .sorted(Comparator.comparing(SplitPartRepository.SplitPartRange::getFromPage))
+                .toList();
+        int[] starts = new int[sorted.size() * 2];
+        long[] owners = new long[sorted.size() * 2];
+        int size = 0;
+        int end = 0;
+        SplitPartRepository.SplitPartRange previous = null;
+        for (SplitPartRepository.SplitPartRange range : sorted) {
+            if (previous != null && range.getFromPage() <= end) {
+                throw new IllegalArgumentException("Split parts " + previous.getId() + " and " + range.getId()
+                        + " overlap; the layout must be contiguous before boundaries can be changed");
+            }
+            if (previous != null && range.getFromPage() > end + 1) {
+                starts[size] = end + 1;
+                owners[size++] = UNASSIGNED;
+            }
+            starts[size] = range.getFromPage();
+            owners[size++] = range.getId();
+            end = range.getToPage();
+            previous = range;
+        }
+        return new SplitLayout(starts, owners, size, end);
+    }
+
+    int[] starts() {
+        return Arrays.copyOf(starts, size);
+    }
+
+    long[] owners() {
+        return Arrays.copyOf(owners, size);
+    }
+
+    int lastPage() {
+        return lastPage;
+    }
+
+    /**
+     * Moves the boundary that currently starts a split part at {@code boundaryPage} so that it starts at
+     * {@code newBoundaryPage}; the pages in between change sides. Both split parts keep at least one page.
+     */
+    Change moveBoundary(int boundaryPage, int newBoundaryPage) {
+        int i = Arrays.binarySearch(starts, 0, size, boundaryPage);
+        if (i <= 0) {
+            throw new IllegalArgumentException("There is no boundary between split parts at page " + boundaryPage);
+        }
+        long left = owners[i - 1];
+        long right = owners[i];
+        if (left == UNASSIGNED || right == UNASSIGNED) {
+            throw new IllegalArgumentException("The boundary at page " + boundaryPage + " borders unassigned pages");
+        }
+        if (newBoundaryPage <= starts[i - 1] || newBoundaryPage > end(i)) {
+            throw new IllegalArgumentException("The boundary at page " + boundaryPage + " can move between pages "
+                    + (starts[i - 1] + 1) + " and " + end(i) + "; merge the split parts to remove it");
+        }
+        if (newBoundaryPage == boundaryPage) {
+            throw new IllegalArgumentException("The boundary is already at page " + boundaryPage);
+        }
+        starts[i] = newBoundaryPage;
+        Range leftRange = new Range(starts[i - 1], end(i - 1));
+        Range rightRange = new Range(starts[i], end(i));
+        if (newBoundaryPage > boundaryPage) {
+            return new Change(right, left, new Range(boundaryPage, newBoundaryPage - 1), rightRange, leftRange);
+        }
+        return new Change(left, right, new Range(newBoundaryPage, boundaryPage - 1), leftRange, rightRange);
+    }
+
+    /**
+     * @return the split part that {@link #splitAt} would split at {@code page}
+     * @throws IllegalArgumentException if the page is unassigned or already the first page of its split part
+     */
+    long splitPartToSplit(int page) {
+        int i = segmentOf(page);
+        if (owners[i] == UNASSIGNED) {
+            throw new IllegalArgumentException("Page " + page + " does not belong to a split part");
+        }
+        if (starts[i] == page) {
+            throw new IllegalArgumentException("Page " + page + " already starts split part " + owners[i]);
+        }
+        return owners[i];
+    }
+
+    /**
+     * Splits the split part containing {@code page} in two: pages from {@code page} to its end go to
+     * {@code newSplitPartId}.
+     */
+    Change splitAt(int page, long newSplitPartId) {
+        long source = splitPartToSplit(page);
+        int i = segmentOf(page);
+        Range moved = new Range(page, end(i));
+        insert(i + 1, page, newSplitPartId);
+        return new Change(source, newSplitPartId, moved, new Range(starts[i], end(i)), moved);
+    }
+
+    /**
+     * Merges {@code absorbedId} into the adjacent split part {@code keptId}, which then spans both ranges.
+     */
+    Change merge(long keptId, long absorbedId) {
+        int kept = indexOf(keptId);
+        int absorbed = indexOf(absorbedId);
+        if (Math.abs(kept - absorbed) != 1) {
+            throw new IllegalArgumentException("Split parts " + keptId + " and " + absorbedId + " are not adjacent");
+        }
+        Range moved = new Range(starts[absorbed], end(absorbed));
+        if (absorbed < kept) {
+            // The kept split part takes over the earlier start
+            owners[absorbed] = keptId;
+            remove(kept);
+            kept = absorbed;
+        } else {
+            remove(absorbed);
+        }
+        return new Change(absorbedId, keptId, moved, null, new Range(starts[kept], end(kept)));
+    }
+
+    private int segmentOf(int page) {
+        int i = Arrays.binarySearch(starts, 0, size, page);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        if (i < 0 || page > lastPage) {
+            throw new IllegalArgumentException("Page " + page + " is outside the split parts of the document");
+        }
+        return i;
+    }
+
+    // Split parts are looked up by id only for merges, which shift the arrays anyway
+    private int indexOf(long splitPartId) {
+        for (int i = 0; i < size; i++) {
+            if (owners[i] == splitPartId) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Split part " + splitPartId + " has no pages in this document");
+    }
+
+    private int end(int i) {
+        return i + 1 < size ? starts[i + 1] - 1 : lastPage;
+    }
+
+    private void insert(int i, int start, long owner) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2 + 1);
+            owners = Arrays.copyOf(owners, size * 2 + 1);
+        }
+        System.arraycopy(starts, i, starts, i + 1, size - i);
+        System.arraycopy(owners, i, owners, i + 1, size - i);
+        starts[i] = start;
+        owners[i] = owner;
+        size++;
+    }
+
+    private void remove(int i) {
+        System.arraycopy(starts, i + 1, starts, i, size - i - 1);
+        System.arraycopy(owners, i + 1, owners, i, size - i - 1);
+        size--;
+    }
+}
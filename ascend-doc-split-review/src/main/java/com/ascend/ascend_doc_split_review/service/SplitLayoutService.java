@@ -0,0 +1,192 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import com.ascend.ascend_doc_split_review.dto.SplitLayoutResponse;
+import com.ascend.ascend_doc_split_review.entity.OriginalDocument;
+import com.ascend.ascend_doc_split_review.entity.SplitPart;
+import com.ascend.ascend_doc_split_review.repository.PageRepository;
+import com.ascend.ascend_doc_split_review.repository.SplitPartRepository;
+import com.ascend.ascend_doc_split_review.repository.SplitPartTombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Boundary edits on a document's {@link SplitLayout}: move the boundary between two split parts, split one at a
+ * page, merge two adjacent ones. Each edit is planned on the layout built from the split part ranges, then written
+ * as one range UPDATE of the pages that change owner plus the new ranges; the number of statements does not
+ * depend on how many pages move.
+ */
+@Service
+public class SplitLayoutService {
+
+    @Autowired
+    private SplitPartRepository splitPartRepository;
+
+    @Autowired
+    private PageRepository pageRepository;
+
+    @Autowired
+    private SplitPartTombstoneRepository splitPartTombstoneRepository;
+
+    @Autowired
+    private OriginalDocumentService originalDocumentService;
+
+    @Autowired
+    private LayoutCacheEvictor layoutCacheEvictor;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Transactional(readOnly = true)
+    public Optional<SplitLayoutResponse> getLayout(Long documentId, Long userId) {
+        return originalDocumentService.getVersion(documentId, userId).map(version -> {
+            SplitLayout layout = SplitLayout.of(splitPartRepository.findRangesByOriginalDocumentId(documentId));
+            List<Integer> starts = new ArrayList<>();
+            List<Long> splitPartIds = new ArrayList<>();
+            for (int start : layout.starts()) {
+                starts.add(start);
+            }
+            for (long owner : layout.owners()) {
+                splitPartIds.add(owner == SplitLayout.UNASSIGNED ? null : owner);
+            }
+            return new SplitLayoutResponse(documentId, version, starts, splitPartIds, starts.isEmpty() ? null : layout.lastPage());
+        });
+    }
+
+    /**
+     * @param expectedDocumentVersion version of the original document from the client's If-Match header, or null
+     */
+    @Timed(value = "service.layout", extraTags = {"operation", "move-boundary"})
+    @Transactional
+    @Retryable(
+            value = {TransientDataAccessException.class, OptimisticLockingFailureException.class},
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 100, multiplier = 2.0, maxDelay = 1000)
+    )
+    public void moveBoundary(Long documentId, int boundaryPage, int newBoundaryPage, Long expectedDocumentVersion) {
+        long changeVersion = OriginalDocumentService.changeVersion(originalDocumentService.touch(documentId, expectedDocumentVersion));
+        Map<Long, SplitPartRepository.SplitPartRange> ranges = loadRanges(documentId);
+        SplitLayout.Change change = SplitLayout.of(List.copyOf(ranges.values())).moveBoundary(boundaryPage, newBoundaryPage);
+        if (isFinalized(ranges, change.sourceId())) {
+            throw new IllegalArgumentException("Cannot move pages from a finalized split part");
+        }
+        if (isFinalized(ranges, change.targetId())) {
+            throw new IllegalArgumentException("Cannot move pages into a finalized split part");
+        }
+        pageRepository.reassignRange(change.sourceId(), change.pages().fromPage(), change.pages().toPage(),
+                splitPartRepository.getReferenceById(change.targetId()));
+        LocalDateTime now = LocalDateTime.now();
+        splitPartRepository.updateRange(change.sourceId(), change.sourceRange().fromPage(), change.sourceRange().toPage(), changeVersion, now);
+        splitPartRepository.updateRange(change.targetId(), change.targetRange().fromPage(), change.targetRange().toPage(), changeVersion, now);
+        meterRegistry.summary("pages.moved", "operation", "boundary").record(change.pages().size());
+        List<Long> affected = List.of(change.sourceId(), change.targetId());
+        layoutCacheEvictor.evictLayout(documentId, affected);
+        eventPublisher.publishEvent(DocumentChangeEvent.of(documentId, DocumentChangeEvent.Type.PAGES_MOVED, affected));
+    }
+
+    /**
+     * Creates a split part holding the pages from {@code page} to the end of the split part containing it.
+     * Metadata left null is copied from that split part.
+     *
+     * @return the id of the new split part
+     */
+    @Timed(value = "service.layout", extraTags = {"operation", "split"})
+    @Transactional
+    @Retryable(
+            value = {TransientDataAccessException.class, OptimisticLockingFailureException.class},
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 100, multiplier = 2.0, maxDelay = 1000)
+    )
+    public Long splitAt(Long documentId, int page, String name, String classification, String filename, Long expectedDocumentVersion) {
+        OriginalDocument document = originalDocumentService.touch(documentId, expectedDocumentVersion);
+        long changeVersion = OriginalDocumentService.changeVersion(document);
+        Map<Long, SplitPartRepository.SplitPartRange> ranges = loadRanges(documentId);
+        SplitLayout layout = SplitLayout.of(List.copyOf(ranges.values()));
+        long sourceId = layout.splitPartToSplit(page);
+        if (isFinalized(ranges, sourceId)) {
+            throw new IllegalArgumentException("Cannot split a finalized split part");
+        }
+        SplitPart source = splitPartRepository.findById(sourceId)
+                .orElseThrow(() -> new RuntimeException("Split part not found"));
+        SplitPart splitPart = new SplitPart();
+        splitPart.setOriginalDocument(document);
+        splitPart.setName(name != null ? name : source.getName());
+        splitPart.setClassification(classification != null ? classification : source.getClassification());
+        splitPart.setFilename(filename != null ? filename : source.getFilename());
+        splitPart.setCreatedAt(LocalDateTime.now());
+        splitPart.setUpdatedAt(LocalDateTime.now());
+        splitPart.setChangeVersion(changeVersion);
+        splitPart = splitPartRepository.save(splitPart);
+        SplitLayout.Change change = layout.splitAt(page, splitPart.getId());
+        splitPart.setFromPage(change.targetRange().fromPage());
+        splitPart.setToPage(change.targetRange().toPage());
+        Long splitPartId = splitPart.getId();
+        pageRepository.reassignRange(change.sourceId(), change.pages().fromPage(), change.pages().toPage(), splitPart);
+        splitPartRepository.updateRange(change.sourceId(), change.sourceRange().fromPage(), change.sourceRange().toPage(), changeVersion, LocalDateTime.now());
+        meterRegistry.summary("split.part.pages").record(change.pages().size());
+        List<Long> affected = List.of(splitPartId, change.sourceId());
+        layoutCacheEvictor.evictLayout(documentId, affected);
+        eventPublisher.publishEvent(DocumentChangeEvent.of(documentId, DocumentChangeEvent.Type.SPLIT_PART_CREATED, affected));
+        return splitPartId;
+    }
+
+    /**
+     * Moves the pages of {@code absorbedId} to the adjacent {@code keptId} and deletes {@code absorbedId}.
+     */
+    @Timed(value = "service.layout", extraTags = {"operation", "merge"})
+    @Transactional
+    @Retryable(
+            value = {TransientDataAccessException.class, OptimisticLockingFailureException.class},
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 100, multiplier = 2.0, maxDelay = 1000)
+    )
+    public void merge(Long documentId, Long keptId, Long absorbedId, Long expectedDocumentVersion) {
+        long changeVersion = OriginalDocumentService.changeVersion(originalDocumentService.touch(documentId, expectedDocumentVersion));
+        Map<Long, SplitPartRepository.SplitPartRange> ranges = loadRanges(documentId);
+        for (Long id : List.of(keptId, absorbedId)) {
+            if (!ranges.containsKey(id)) {
+                throw new IllegalArgumentException("Split part " + id + " does not belong to original document " + documentId);
+            }
+        }
+        SplitLayout.Change change = SplitLayout.of(List.copyOf(ranges.values())).merge(keptId, absorbedId);
+        if (isFinalized(ranges, keptId) || isFinalized(ranges, absorbedId)) {
+            throw new IllegalArgumentException("Cannot merge a finalized split part");
+        }
+        // Same set-based path as SplitPartService#deleteSplitPart with reassignTo
+        pageRepository.reassignBySplitPartId(absorbedId, splitPartRepository.getReferenceById(keptId));
+        splitPartTombstoneRepository.insertForEmptyByIdIn(List.of(absorbedId), changeVersion);
+        splitPartRepository.deleteEmptyByIdIn(List.of(absorbedId));
+        splitPartRepository.updateRange(keptId, change.targetRange().fromPage(), change.targetRange().toPage(), changeVersion, LocalDateTime.now());
+        meterRegistry.summary("split.part.pages").record(change.targetRange().size());
+        List<Long> affected = List.of(absorbedId, keptId);
+        layoutCacheEvictor.evictLayout(documentId, affected);
+        eventPublisher.publishEvent(DocumentChangeEvent.of(documentId, DocumentChangeEvent.Type.SPLIT_PART_DELETED, affected));
+    }
+
+    private Map<Long, SplitPartRepository.SplitPartRange> loadRanges(Long documentId) {
+        return splitPartRepository.findRangesByOriginalDocumentId(documentId).stream()
+                .collect(Collectors.toMap(SplitPartRepository.SplitPartRange::getId, Function.identity()));
+    }
+
+    private static boolean isFinalized(Map<Long, SplitPartRepository.SplitPartRange> ranges, long splitPartId) {
+        return ranges.get(splitPartId).getStatus() == SplitPart.Status.FINALIZED;
+    }
+}
@@ -1,11 +1,16 @@
 package com.ascend.ascend_doc_split_review.service;
 
+import com.ascend.ascend_doc_split_review.dto.SplitPartResponse;
 import com.ascend.ascend_doc_split_review.entity.SplitPart;
 import com.ascend.ascend_doc_split_review.entity.Page;
 import com.ascend.ascend_doc_split_review.entity.OriginalDocument;
 import com.ascend.ascend_doc_split_review.repository.SplitPartRepository;
 import com.ascend.ascend_doc_split_review.repository.PageRepository;
+import com.ascend.ascend_doc_split_review.repository.SplitPartTombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.retry.annotation.Backoff;
@@ -14,8 +19,11 @@ import org.springframework.dao.TransientDataAccessException;
 import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class SplitPartService {
@@ -26,21 +34,64 @@ public class SplitPartService {
     @Autowired
     private PageRepository pageRepository;
 
+    @Autowired
+    private SplitPartTombstoneRepository splitPartTombstoneRepository;
+
+    @Autowired
+    private OriginalDocumentService originalDocumentService;
+
+    @Autowired
+    private LayoutCacheEvictor layoutCacheEvictor;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Timed(value = "service.split-parts", extraTags = {"operation", "create"})
+    @Transactional
     @Retryable(
             value = {TransientDataAccessException.class, OptimisticLockingFailureException.class},
             maxAttempts = 3,
             backoff = @Backoff(delay = 100, multiplier = 2.0, maxDelay = 1000)
     )
     public SplitPart createSplitPart(OriginalDocument originalDocument, String name, String classification, String filename, List<Page> pages) {
-        if (originalDocument.getStatus() == OriginalDocument.Status.FINALIZED) {
-            throw new IllegalArgumentException("Cannot modify a finalized document");
-        }
+        OriginalDocument touched = originalDocumentService.touch(originalDocument.getId(), null);
+        return createSplitPart(touched, name, classification, filename, pages, OriginalDocumentService.changeVersion(touched));
+    }
+
+    /**
+     * Creates a split part from pages already stored for the document. The pages are read after the document is
+     * locked, so a move or finalize committed meanwhile is seen by the checks below.
+     */
+    @Timed(value = "service.split-parts", extraTags = {"operation", "create"})
+    @Transactional
+    @Retryable(
+            value = {TransientDataAccessException.class, OptimisticLockingFailureException.class},
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 100, multiplier = 2.0, maxDelay = 1000)
+    )
+    public SplitPart createSplitPart(Long originalDocumentId, String name, String classification, String filename, List<Long> pageIds) {
+        OriginalDocument touched = originalDocumentService.touch(originalDocumentId, null);
+        return createSplitPart(touched, name, classification, filename, pageRepository.findByIdIn(pageIds),
+                OriginalDocumentService.changeVersion(touched));
+    }
+
+    // Called with the document locked by touch()
+    private SplitPart createSplitPart(OriginalDocument originalDocument, String name, String classification, String filename,
+                                      List<Page> pages, long changeVersion) {
         // If a page is already assigned, ensure it belongs to the same original document
+        Set<Long> sourceIds = new HashSet<>();
         for (Page page : pages) {
             if (page.getSplitPart() != null && page.getSplitPart().getOriginalDocument() != null) {
                 if (!page.getSplitPart().getOriginalDocument().getId().equals(originalDocument.getId())) {
                     throw new IllegalArgumentException("All pages must belong to the same original document");
                 }
+                if (page.getSplitPart().getStatus() == SplitPart.Status.FINALIZED) {
+                    throw new IllegalArgumentException("Cannot move pages from a finalized split part");
+                }
+                sourceIds.add(page.getSplitPart().getId());
             }
         }
         SplitPart splitPart = new SplitPart();
@@ -51,6 +102,7 @@ public class SplitPartService {
         splitPart.setCreatedAt(LocalDateTime.now());
         splitPart.setUpdatedAt(LocalDateTime.now());
         splitPart.setPages(pages);
+        splitPart.setChangeVersion(changeVersion);
         int minPage = pages.stream().map(Page::getPageNumber).min(Integer::compareTo).orElse(0);
         int maxPage = pages.stream().map(Page::getPageNumber).max(Integer::compareTo).orElse(0);
         splitPart.setFromPage(minPage);
@@ -58,102 +110,159 @@ public class SplitPartService {
         for (Page page : pages) {
             page.setSplitPart(splitPart);
         }
-        return splitPartRepository.save(splitPart);
+        SplitPart saved = splitPartRepository.save(splitPart);
+        meterRegistry.summary("split.part.pages").record(pages.size());
+        if (sourceIds.isEmpty()) {
+            // New pages (upload, seeding): no other split part changes
+            eventPublisher.publishEvent(DocumentChangeEvent.of(originalDocument.getId(), DocumentChangeEvent.Type.SPLIT_PART_CREATED, List.of(saved.getId())));
+            return saved;
+        }
+        // The pages left their split parts: drop the emptied ones and recompute the others, as PageService#movePagesToSplitPart does
+        Long savedId = saved.getId();
+        splitPartTombstoneRepository.insertForEmptyByIdIn(sourceIds, changeVersion);
+        splitPartRepository.deleteEmptyByIdIn(sourceIds);
+        splitPartRepository.recomputeRanges(sourceIds, changeVersion, LocalDateTime.now());
+        List<Long> affected = Stream.concat(Stream.of(savedId), sourceIds.stream()).toList();
+        layoutCacheEvictor.evictLayout(originalDocument.getId(), affected);
+        layoutCacheEvictor.evictPages(pages.stream().map(Page::getId).toList());
+        eventPublisher.publishEvent(DocumentChangeEvent.of(originalDocument.getId(), DocumentChangeEvent.Type.SPLIT_PART_CREATED, affected));
+        // The bulk statements cleared the persistence context
+        return splitPartRepository.findById(savedId).orElseThrow(() -> new RuntimeException("Split part not found"));
     }
 
     public Optional<SplitPart> getById(Long id) {
         return splitPartRepository.findById(id);
     }
 
+    /**
+     * The full view of a split part: its pages with their content, mapped inside the transaction.
+     */
+    @Transactional(readOnly = true)
+    public Optional<SplitPartResponse> getResponse(Long id) {
+        return splitPartRepository.findById(id).map(SplitPartResponse::fromEntity);
+    }
+
     public List<SplitPart> getByOriginalDocument(Long originalDocumentId) {
         return splitPartRepository.findByOriginalDocumentId(originalDocumentId);
     }
 
+    /**
+     * @param expectedVersion split part version from the client's If-Match header, or null to update unconditionally
+     */
+    @Timed(value = "service.split-parts", extraTags = {"operation", "update"})
+    @Transactional
     @Retryable(
             value = {TransientDataAccessException.class, OptimisticLockingFailureException.class},
             maxAttempts = 3,
             backoff = @Backoff(delay = 100, multiplier = 2.0, maxDelay = 1000)
     )
-    public SplitPart updateSplitPart(Long id, String name, String classification, String filename) {
-        Optional<SplitPart> opt = splitPartRepository.findById(id);
-        if (opt.isPresent()) {
-            SplitPart sp = opt.get();
-            if (sp.getOriginalDocument().getStatus() == OriginalDocument.Status.FINALIZED) {
-                throw new IllegalArgumentException("Cannot modify a finalized document");
-            }
-            if (sp.getStatus() == SplitPart.Status.FINALIZED) {
-                throw new IllegalArgumentException("Cannot modify a finalized split part");
-            }
-            if (name != null) sp.setName(name);
-            if (classification != null) sp.setClassification(classification);
-            if (filename != null) sp.setFilename(filename);
-            sp.setUpdatedAt(LocalDateTime.now());
-            return splitPartRepository.save(sp);
+    public SplitPart updateSplitPart(Long id, String name, String classification, String filename, Long expectedVersion) {
+        Long documentId = documentIdOf(id);
+        long changeVersion = OriginalDocumentService.changeVersion(originalDocumentService.touch(documentId, null));
+        SplitPart sp = lockedSplitPart(id);
+        checkVersion(sp, expectedVersion);
+        if (sp.getStatus() == SplitPart.Status.FINALIZED) {
+            throw new IllegalArgumentException("Cannot modify a finalized split part");
         }
-        throw new RuntimeException("Split part not found");
+        if (name != null) sp.setName(name);
+        if (classification != null) sp.setClassification(classification);
+        if (filename != null) sp.setFilename(filename);
+        sp.setUpdatedAt(LocalDateTime.now());
+        sp.setChangeVersion(changeVersion);
+        eventPublisher.publishEvent(DocumentChangeEvent.of(documentId, DocumentChangeEvent.Type.SPLIT_PART_UPDATED, List.of(id)));
+        return splitPartRepository.saveAndFlush(sp);
     }
 
+    @Timed(value = "service.split-parts", extraTags = {"operation", "delete"})
     @Transactional
     @Retryable(
             value = {TransientDataAccessException.class, OptimisticLockingFailureException.class},
             maxAttempts = 3,
             backoff = @Backoff(delay = 100, multiplier = 2.0, maxDelay = 1000)
     )
-    public void deleteSplitPart(Long id, Long reassignToSplitPartId) {
-        Optional<SplitPart> opt = splitPartRepository.findById(id);
-        if (opt.isPresent()) {
-            SplitPart sp = opt.get();
-            if (sp.getOriginalDocument().getStatus() == OriginalDocument.Status.FINALIZED) {
-                throw new IllegalArgumentException("Cannot modify a finalized document");
-            }
-            if (sp.getStatus() == SplitPart.Status.FINALIZED) {
-                throw new IllegalArgumentException("Cannot delete a finalized split part");
+    public void deleteSplitPart(Long id, Long reassignToSplitPartId, Long expectedVersion) {
+        if (id.equals(reassignToSplitPartId)) {
+            throw new IllegalArgumentException("Cannot reassign pages to the same split part being deleted");
+        }
+        Long documentId = documentIdOf(id);
+        long changeVersion = OriginalDocumentService.changeVersion(originalDocumentService.touch(documentId, null));
+        SplitPart sp = lockedSplitPart(id);
+        checkVersion(sp, expectedVersion);
+        if (sp.getStatus() == SplitPart.Status.FINALIZED) {
+            throw new IllegalArgumentException("Cannot delete a finalized split part");
+        }
+        SplitPart target = null;
+        if (reassignToSplitPartId != null) {
+            target = splitPartRepository.findById(reassignToSplitPartId)
+                    .orElseThrow(() -> new IllegalArgumentException("Target split part not found: " + reassignToSplitPartId));
+            if (!target.getOriginalDocument().getId().equals(documentId)) {
+                throw new IllegalArgumentException("Target split part must belong to the same original document");
             }
-            List<Page> pages = pageRepository.findBySplitPartId(id);
-            SplitPart target = null;
-            if (reassignToSplitPartId != null) {
-                if (reassignToSplitPartId.equals(id)) {
-                    throw new IllegalArgumentException("Cannot reassign pages to the same split part being deleted");
-                }
-                target = splitPartRepository.findById(reassignToSplitPartId)
-                        .orElseThrow(() -> new IllegalArgumentException("Target split part not found: " + reassignToSplitPartId));
-                if (!target.getOriginalDocument().getId().equals(sp.getOriginalDocument().getId())) {
-                    throw new IllegalArgumentException("Target split part must belong to the same original document");
-                }
-                if (target.getOriginalDocument().getStatus() == OriginalDocument.Status.FINALIZED) {
-                    throw new IllegalArgumentException("Cannot modify a finalized document");
-                }
-                if (target.getStatus() == SplitPart.Status.FINALIZED) {
-                    throw new IllegalArgumentException("Cannot reassign pages to a finalized split part");
-                }
+            if (target.getStatus() == SplitPart.Status.FINALIZED) {
+                throw new IllegalArgumentException("Cannot reassign pages to a finalized split part");
             }
-            for (Page page : pages) {
-                page.setSplitPart(target);
-                pageRepository.save(page);
+            // Same target check as a move: the pages must extend the target's range without a gap
+            ContiguityReport report = new PageContiguityValidator()
+                    .checkTarget(target.getId(), toArray(pageRepository.findPageNumbersBySplitPartId(target.getId())),
+                            toArray(pageRepository.findPageNumbersBySplitPartId(id)))
+                    .report();
+            if (report.hasGaps(ContiguityReport.Side.TARGET)) {
+                throw new IllegalArgumentException("Reassignment rejected: target split would become non-contiguous. Missing pages: "
+                        + report.describe(ContiguityReport.Side.TARGET));
             }
-            splitPartRepository.delete(sp);
-        } else {
-            throw new RuntimeException("Split part not found");
         }
+        // Same set-based path as PageService#movePagesToSplitPart: one UPDATE for all pages
+        pageRepository.reassignBySplitPartId(id, target);
+        splitPartTombstoneRepository.insertForEmptyByIdIn(List.of(id), changeVersion);
+        splitPartRepository.deleteEmptyByIdIn(List.of(id));
+        if (target != null) {
+            splitPartRepository.recomputeRanges(List.of(target.getId()), changeVersion, LocalDateTime.now());
+        }
+        List<Long> affected = target != null ? List.of(id, target.getId()) : List.of(id);
+        layoutCacheEvictor.evictLayout(documentId, affected);
+        eventPublisher.publishEvent(DocumentChangeEvent.of(documentId, DocumentChangeEvent.Type.SPLIT_PART_DELETED, affected));
     }
 
+    @Timed(value = "service.split-parts", extraTags = {"operation", "finalize"})
+    @Transactional
     @Retryable(
             value = {TransientDataAccessException.class, OptimisticLockingFailureException.class},
             maxAttempts = 3,
             backoff = @Backoff(delay = 100, multiplier = 2.0, maxDelay = 1000)
     )
     public SplitPart finalizeSplitPart(Long id) {
-        Optional<SplitPart> opt = splitPartRepository.findById(id);
-        if (opt.isPresent()) {
-            SplitPart sp = opt.get();
-            if (sp.getOriginalDocument().getStatus() == OriginalDocument.Status.FINALIZED) {
-                return sp; // already effectively locked by parent
-            }
-            sp.setStatus(SplitPart.Status.FINALIZED);
-            sp.setUpdatedAt(LocalDateTime.now());
-            return splitPartRepository.save(sp);
+        Long documentId = documentIdOf(id);
+        OriginalDocument doc = originalDocumentService.lockForUpdate(documentId);
+        SplitPart sp = lockedSplitPart(id);
+        if (doc.getStatus() == OriginalDocument.Status.FINALIZED) {
+            return sp; // already effectively locked by parent
         }
-        throw new RuntimeException("Split part not found");
+        sp.setStatus(SplitPart.Status.FINALIZED);
+        sp.setUpdatedAt(LocalDateTime.now());
+        sp.setChangeVersion(OriginalDocumentService.changeVersion(originalDocumentService.touch(documentId, null)));
+        eventPublisher.publishEvent(DocumentChangeEvent.of(documentId, DocumentChangeEvent.Type.SPLIT_PART_FINALIZED, List.of(id)));
+        return splitPartRepository.saveAndFlush(sp);
+    }
+
+    private Long documentIdOf(Long splitPartId) {
+        return splitPartRepository.findOriginalDocumentIdById(splitPartId)
+                .orElseThrow(() -> new RuntimeException("Split part not found"));
+    }
+
+    // Read after the document is locked, so the status checks see a finalize committed meanwhile
+    private SplitPart lockedSplitPart(Long id) {
+        return splitPartRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Split part not found"));
+    }
+
+    private static int[] toArray(List<Integer> pageNumbers) {
+        return pageNumbers.stream().mapToInt(Integer::intValue).toArray();
     }
-}
 
+    private static void checkVersion(SplitPart sp, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(sp.getVersion())) {
+            throw new PreconditionFailedException("Split part " + sp.getId() + " has been modified; expected version "
+                    + expectedVersion + ", current version " + sp.getVersion());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Builds split PDFs by importing page ranges of a stored source PDF.
+ * <p>
+ * Both the source and the assembled document buffer at most {@code storage.pdf.max-main-memory-bytes}
+ * on the heap and spill the rest to temp files, and the result is written straight to the caller's
+ * stream, so large documents are never held in memory as a whole.
+ */
+@Service
+public class SplitPdfAssembler {
+
+    /**
+     * Inclusive, 1-based page range of the source PDF.
+     */
+    public record PageRange(int fromPage, int toPage) {
+    }
+
+    private final long maxMainMemoryBytes;
+
+    public SplitPdfAssembler(@Value("${storage.pdf.max-main-memory-bytes}") long maxMainMemoryBytes) {
+        this.maxMainMemoryBytes = maxMainMemoryBytes;
+    }
+
+    public void writePages(Path source, List<PageRange> ranges, OutputStream out) throws IOException {
+        try (PreparedSplit split = prepare(source, ranges)) {
+            split.writeTo(out);
+        }
+    }
+
+    /**
+     * Opens the source PDF and checks the ranges against its page count, without importing any page yet. Lets a
+     * download reject a bad range before its response is committed, then stream from the already opened source.
+     * The result must be written or closed.
+     *
+     * @throws IllegalArgumentException if a range is outside the source PDF
+     */
+    public PreparedSplit prepare(Path source, List<PageRange> ranges) throws IOException {
+        PDDocument sourceDoc = Loader.loadPDF(source.toFile(), memoryUsage().streamCache);
+        try {
+            int pageCount = sourceDoc.getNumberOfPages();
+            for (PageRange range : ranges) {
+                if (range.fromPage() < 1 || range.toPage() > pageCount || range.fromPage() > range.toPage()) {
+                    throw new IllegalArgumentException("Page range " + range.fromPage() + "-" + range.toPage()
+                            + " is outside the source PDF (" + pageCount + " pages)");
+                }
+            }
+            return new PreparedSplit(sourceDoc, List.copyOf(ranges));
+        } catch (RuntimeException e) {
+            sourceDoc.close();
+            throw e;
+        }
+    }
+
+    /**
+     * An opened source PDF with validated page ranges. Writing it closes the source.
+     */
+    public final class PreparedSplit implements Closeable {
+
+        private final PDDocument sourceDoc;
+        private final List<PageRange> ranges;
+
+        private PreparedSplit(PDDocument sourceDoc, List<PageRange> ranges) {
+            this.sourceDoc = sourceDoc;
+            this.ranges = ranges;
+        }
+
+        public void writeTo(OutputStream out) throws IOException {
+            try (sourceDoc; PDDocument target = new PDDocument(memoryUsage().streamCache)) {
+                for (PageRange range : ranges) {
+                    for (int page = range.fromPage(); page <= range.toPage(); page++) {
+                        target.importPage(sourceDoc.getPage(page - 1));
+                    }
+                }
+                target.save(out);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            sourceDoc.close();
+        }
+    }
+
+    private MemoryUsageSetting memoryUsage() {
+        return MemoryUsageSetting.setupMixed(maxMainMemoryBytes);
+    }
+}
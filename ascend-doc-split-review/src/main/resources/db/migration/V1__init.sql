@@ -0,0 +1,59 @@
+-- Baseline schema, matching the JPA mappings (spring.jpa.hibernate.ddl-auto=validate checks it at startup).
+
+create table users (
+    id bigint generated by default as identity,
+    username varchar(255) not null,
+    password varchar(255) not null,
+    email varchar(255) not null,
+    role enum ('ACCOUNTANT') not null,
+    created_at timestamp(6),
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
+
+create table original_documents (
+    id bigint generated by default as identity,
+    version bigint,
+    user_id bigint not null,
+    original_filename varchar(255) not null,
+    status enum ('FINALIZED','PENDING') not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id),
+    constraint fk_original_documents_user foreign key (user_id) references users (id)
+);
+
+create table split_parts (
+    id bigint generated by default as identity,
+    version bigint,
+    original_document_id bigint not null,
+    name varchar(255) not null,
+    classification varchar(255) not null,
+    filename varchar(255) not null,
+    status enum ('FINALIZED','PENDING') not null,
+    from_page integer,
+    to_page integer,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id),
+    constraint fk_split_parts_original_document foreign key (original_document_id) references original_documents (id)
+);
+
+create table pages (
+    id bigint generated by default as identity,
+    split_part_id bigint,
+    page_number integer not null,
+    content varchar(255),
+    primary key (id),
+    constraint fk_pages_split_part foreign key (split_part_id) references split_parts (id)
+);
+
+-- Keyset listing (GET /api/documents) and ownership lookups by user
+create index idx_original_documents_user_created on original_documents (user_id, created_at, id);
+
+-- Layout of a document (findByOriginalDocumentId, range recomputation)
+create index idx_split_parts_original_document on split_parts (original_document_id);
+
+-- Pages of a split part in page order (findBySplitPartId, contiguity checks, min/max page)
+create index idx_pages_split_part_page on pages (split_part_id, page_number);
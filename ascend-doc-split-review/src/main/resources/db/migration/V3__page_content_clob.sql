@@ -0,0 +1,2 @@
+-- Uploaded PDFs store the full extracted text of each page
+alter table pages alter column content set data type character large object;
@@ -0,0 +1,22 @@
+-- Background finalization jobs (FinalizeJobService); ids come from a pooled sequence like the other tables
+create sequence finalize_jobs_seq start with 1 increment by 50;
+
+create table finalize_jobs (
+    id bigint not null,
+    original_document_id bigint not null,
+    status enum ('FAILED','QUEUED','RUNNING','SUCCEEDED') not null,
+    total_parts integer,
+    completed_parts integer not null,
+    error varchar(1000),
+    created_at timestamp(6),
+    started_at timestamp(6),
+    finished_at timestamp(6),
+    primary key (id),
+    constraint fk_finalize_jobs_original_document foreign key (original_document_id) references original_documents (id)
+);
+
+-- Latest job of a document (repeated finalize calls)
+create index idx_finalize_jobs_original_document on finalize_jobs (original_document_id);
+
+-- Unfinished jobs resumed at startup
+create index idx_finalize_jobs_status on finalize_jobs (status);
@@ -0,0 +1,14 @@
+-- Delta sync: split parts carry the document version that last changed them, deletions leave tombstones
+alter table split_parts add column change_version bigint default 0 not null;
+
+create index idx_split_parts_document_change on split_parts (original_document_id, change_version);
+
+create table split_part_tombstones (
+    split_part_id bigint not null,
+    original_document_id bigint not null,
+    change_version bigint not null,
+    deleted_at timestamp(6),
+    primary key (split_part_id)
+);
+
+create index idx_split_part_tombstones_document_change on split_part_tombstones (original_document_id, change_version);
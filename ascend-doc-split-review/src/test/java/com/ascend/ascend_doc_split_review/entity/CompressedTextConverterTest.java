@@ -0,0 +1,29 @@
+package com.ascend.ascend_doc_split_review.entity;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedTextConverterTest {
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Test
+    void testRoundTrip() {
+        String text = "Form 80C — page 1\n".repeat(500) + "Ünïcödé ✓";
+        byte[] stored = converter.convertToDatabaseColumn(text);
+        assertTrue(stored.length < text.length() / 10);
+        assertEquals(text, converter.convertToEntityAttribute(stored));
+    }
+
+    @Test
+    void testEmptyAndNull() {
+        assertEquals("", converter.convertToEntityAttribute(converter.convertToDatabaseColumn("")));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void testCorruptData() {
+        assertThrows(IllegalStateException.class, () -> converter.convertToEntityAttribute(new byte[]{1, 2, 3}));
+    }
+}
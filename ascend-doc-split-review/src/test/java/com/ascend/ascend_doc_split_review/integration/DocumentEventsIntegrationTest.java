@@ -0,0 +1,106 @@
+package com.ascend.ascend_doc_split_review.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Change events are pushed after commit, so like {@link FinalizeJobIntegrationTest} this test is not
+ * transactional and works as a freshly registered user.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class DocumentEventsIntegrationTest {
+
+    private static final long EVENT_TIMEOUT_MILLIS = 5_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String token;
+
+    @BeforeEach
+    void register() throws Exception {
+        String username = "events-" + UUID.randomUUID();
+        String body = "{\"username\":\"" + username + "\",\"password\":\"password\",\"email\":\"" + username + "@example.com\"}";
+        String json = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        token = JsonPath.read(json, "$.token");
+    }
+
+    @Test
+    void documentEvents_pushesCommittedChanges() throws Exception {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(new PDPage());
+            document.save(pdf);
+        }
+        Integer documentId = JsonPath.read(mockMvc.perform(multipart("/api/documents/upload")
+                        .file(new MockMultipartFile("file", "live.pdf", MediaType.APPLICATION_PDF_VALUE, pdf.toByteArray()))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString(), "$.id");
+        Integer splitPartId = JsonPath.read(mockMvc.perform(get("/api/documents/" + documentId)
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getContentAsString(), "$.splitParts[0].id");
+
+        MvcResult stream = mockMvc.perform(get("/api/documents/" + documentId + "/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(stream.getResponse(), "event:subscribed");
+
+        mockMvc.perform(patch("/api/split-parts/" + splitPartId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed\"}")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        awaitContent(stream.getResponse(), "\"type\":\"SPLIT_PART_UPDATED\"");
+
+        mockMvc.perform(post("/api/documents/" + documentId + "/finalize")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isAccepted());
+        String events = awaitContent(stream.getResponse(), "\"type\":\"DOCUMENT_FINALIZED\"");
+        assertThat(events).contains("event:change", "\"splitPartIds\":[" + splitPartId + "]");
+    }
+
+    @Test
+    void documentEvents_otherUsersDocument_notFound() throws Exception {
+        mockMvc.perform(get("/api/documents/1/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + EVENT_TIMEOUT_MILLIS;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = response.getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+}
@@ -0,0 +1,127 @@
+package com.ascend.ascend_doc_split_review.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Finalize jobs start after the submitting transaction commits, so unlike {@link SplitFlowIntegrationTest}
+ * this test is not transactional. It works as a freshly registered user to keep its committed rows away from
+ * the seeded demo data.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class FinalizeJobIntegrationTest {
+
+    private static final long JOB_TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String token;
+
+    @BeforeEach
+    void register() throws Exception {
+        String username = "finalize-" + UUID.randomUUID();
+        String body = "{\"username\":\"" + username + "\",\"password\":\"password\",\"email\":\"" + username + "@example.com\"}";
+        String json = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        token = JsonPath.read(json, "$.token");
+    }
+
+    @Test
+    void finalizeDocument_rendersSplitPdfsInBackground() throws Exception {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < 3; i++) {
+                document.addPage(new PDPage());
+            }
+            document.save(pdf);
+        }
+        String uploaded = mockMvc.perform(multipart("/api/documents/upload")
+                        .file(new MockMultipartFile("file", "bundle.pdf", MediaType.APPLICATION_PDF_VALUE, pdf.toByteArray()))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Integer documentId = JsonPath.read(uploaded, "$.id");
+
+        MvcResult accepted = mockMvc.perform(post("/api/documents/" + documentId + "/finalize")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.documentId", is(documentId)))
+                .andExpect(jsonPath("$.status", is("QUEUED")))
+                .andReturn();
+        String jobLocation = accepted.getResponse().getHeader("Location");
+
+        String job = awaitFinished(jobLocation);
+        assertThat(JsonPath.<String>read(job, "$.status")).isEqualTo("SUCCEEDED");
+        assertThat(JsonPath.<Integer>read(job, "$.totalParts")).isEqualTo(1);
+        assertThat(JsonPath.<Integer>read(job, "$.completedParts")).isEqualTo(1);
+
+        String document = mockMvc.perform(get("/api/documents/" + documentId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("FINALIZED")))
+                .andReturn().getResponse().getContentAsString();
+        Integer splitPartId = JsonPath.read(document, "$.splitParts[0].id");
+        MvcResult download = mockMvc.perform(get("/api/splits/" + splitPartId + "/download")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] split = mockMvc.perform(asyncDispatch(download))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        try (PDDocument rendered = Loader.loadPDF(split)) {
+            assertThat(rendered.getNumberOfPages()).isEqualTo(3);
+        }
+
+        // Finalizing again returns the same job instead of rendering twice
+        mockMvc.perform(post("/api/documents/" + documentId + "/finalize")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", jobLocation));
+    }
+
+    @Test
+    void getJob_unknownId_notFound() throws Exception {
+        mockMvc.perform(get("/api/jobs/" + Long.MAX_VALUE)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    private String awaitFinished(String jobLocation) throws Exception {
+        long deadline = System.currentTimeMillis() + JOB_TIMEOUT_MILLIS;
+        while (true) {
+            String job = mockMvc.perform(get(jobLocation)
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            String status = JsonPath.read(job, "$.status");
+            if (status.equals("SUCCEEDED") || status.equals("FAILED") || System.currentTimeMillis() > deadline) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.ascend.ascend_doc_split_review.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * With {@code spring.jpa.open-in-view=false} no session is open while a response is rendered, so anything a
+ * controller reads lazily fails. {@link SplitFlowIntegrationTest} runs every request inside its test transaction
+ * and cannot see that; this test is not transactional and works as a freshly registered user.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SessionlessResponsesIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String token;
+
+    @BeforeEach
+    void register() throws Exception {
+        String username = "sessionless-" + UUID.randomUUID();
+        String body = "{\"username\":\"" + username + "\",\"password\":\"password\",\"email\":\"" + username + "@example.com\"}";
+        String json = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        token = JsonPath.read(json, "$.token");
+    }
+
+    @Test
+    void splitPartEndpoints_mapResponsesWithoutOpenSession() throws Exception {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < 3; i++) {
+                document.addPage(new PDPage());
+            }
+            document.save(pdf);
+        }
+        String uploaded = mockMvc.perform(multipart("/api/documents/upload")
+                        .file(new MockMultipartFile("file", "bundle.pdf", MediaType.APPLICATION_PDF_VALUE, pdf.toByteArray()))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Integer documentId = JsonPath.read(uploaded, "$.id");
+        String document = mockMvc.perform(get("/api/documents/" + documentId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Integer wholeId = JsonPath.read(document, "$.splitParts[0].id");
+        List<Integer> pageIds = JsonPath.read(document, "$.splitParts[0].pages[*].id");
+
+        mockMvc.perform(get("/api/splits/" + wholeId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pages", hasSize(3)))
+                .andExpect(jsonPath("$.pages[0].content", notNullValue()));
+
+        String created = mockMvc.perform(post("/api/split-parts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"originalDocumentId\":%d,\"pageIds\":[%d],\"name\":\"Last page\",\"classification\":\"X\",\"filename\":\"last.pdf\"}",
+                                documentId, pageIds.get(2)))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pages[*].pageNumber", contains(3)))
+                .andReturn().getResponse().getContentAsString();
+        Integer lastId = JsonPath.read(created, "$.id");
+
+        mockMvc.perform(patch("/api/split-parts/" + lastId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed\"}")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.name", is("Renamed")))
+                .andExpect(jsonPath("$.pages", hasSize(1)));
+        mockMvc.perform(post("/api/pages/move")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"pageIds\":[%d],\"targetSplitPartId\":%d}", pageIds.get(1), lastId))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/split-parts/" + wholeId + "/finalize")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pages[*].pageNumber", contains(1)));
+        mockMvc.perform(delete("/api/split-parts/" + lastId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/splits/" + lastId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,22 +1,48 @@
 package com.ascend.ascend_doc_split_review.integration;
 
+import com.ascend.ascend_doc_split_review.controller.SqlBudgetFilter;
 import com.ascend.ascend_doc_split_review.entity.OriginalDocument;
 import com.ascend.ascend_doc_split_review.entity.Page;
 import com.ascend.ascend_doc_split_review.entity.SplitPart;
 import com.ascend.ascend_doc_split_review.repository.OriginalDocumentRepository;
 import com.ascend.ascend_doc_split_review.repository.PageRepository;
 import com.ascend.ascend_doc_split_review.repository.SplitPartRepository;
+import com.ascend.ascend_doc_split_review.service.OriginalDocumentService;
+import com.ascend.ascend_doc_split_review.service.PdfStorageService;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static com.ascend.ascend_doc_split_review.integration.SqlStatements.sqlStatements;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,10 +64,27 @@ public class SplitFlowIntegrationTest {
     @Autowired
     private PageRepository pageRepository;
 
+    @Autowired
+    private PdfStorageService pdfStorageService;
+
+    @Autowired
+    private OriginalDocumentService originalDocumentService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private String token;
 
     @BeforeEach
     void login() throws Exception {
+        // Statement counts and cache assertions start from a cold second-level cache
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
         String body = "{\"username\":\"demo\",\"password\":\"password\"}";
         String json = mockMvc.perform(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -67,6 +110,46 @@ public class SplitFlowIntegrationTest {
                 .andExpect(jsonPath("$.splitParts").doesNotExist());
     }
 
+    @Test
+    void getDocument_returnsSplitPartsWithPages() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+
+        mockMvc.perform(get("/api/documents/" + doc.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(doc.getId().intValue())))
+                .andExpect(jsonPath("$.splitParts", hasSize(2)))
+                .andExpect(jsonPath("$.splitParts[*].pages[*].pageNumber", containsInAnyOrder(1, 2, 3)));
+    }
+
+    @Test
+    void listDocuments_keysetPagesThroughSummaries() throws Exception {
+        OriginalDocument seeded = originalDocumentRepository.findAll().get(0);
+        for (int i = 0; i < 4; i++) {
+            originalDocumentService.createOriginalDocument(seeded.getUser(), "extra_" + i + ".pdf");
+        }
+
+        List<Integer> seen = new java.util.ArrayList<>();
+        String cursor = null;
+        do {
+            String url = "/api/documents?size=2" + (cursor == null ? "" : "&cursor=" + cursor);
+            String json = mockMvc.perform(get(url).header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(lessThanOrEqualTo(2))))
+                    .andExpect(jsonPath("$.items[0].splitParts").doesNotExist())
+                    .andReturn().getResponse().getContentAsString();
+            seen.addAll(JsonPath.read(json, "$.items[*].id"));
+            cursor = JsonPath.read(json, "$.nextCursor");
+        } while (cursor != null);
+
+        org.assertj.core.api.Assertions.assertThat(seen).hasSize(5).doesNotHaveDuplicates();
+
+        mockMvc.perform(get("/api/documents?status=FINALIZED").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
     @Test
     void movePages_nonContiguousTarget_rejected() throws Exception {
         OriginalDocument doc = originalDocumentRepository.findAll().get(0);
@@ -122,6 +205,7 @@ public class SplitFlowIntegrationTest {
         List<SplitPart> parts = splitPartRepository.findByOriginalDocumentId(doc.getId());
         SplitPart partA = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 1 ? parts.get(0) : parts.get(1);
         SplitPart partB = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 3 ? parts.get(0) : parts.get(1);
+        LocalDateTime updatedBefore = partA.getUpdatedAt();
         // move page 3 from B -> A (1-2 + 3 is contiguous)
         Long page3Id = pageRepository.findBySplitPartId(partB.getId()).get(0).getId();
         String req = String.format("{\"pageIds\":[%d],\"targetSplitPartId\":%d}", page3Id, partA.getId());
@@ -138,6 +222,398 @@ public class SplitFlowIntegrationTest {
         SplitPart updatedA = splitPartRepository.findById(partA.getId()).get();
         org.assertj.core.api.Assertions.assertThat(updatedA.getFromPage()).isEqualTo(1);
         org.assertj.core.api.Assertions.assertThat(updatedA.getToPage()).isEqualTo(3);
+        org.assertj.core.api.Assertions.assertThat(updatedA.getUpdatedAt()).isAfter(updatedBefore);
+    }
+
+    @Test
+    void movePages_unknownPages_leavesDocumentVersion() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        SplitPart part = splitPartRepository.findByOriginalDocumentId(doc.getId()).get(0);
+        Long version = doc.getVersion();
+
+        mockMvc.perform(post("/api/pages/move")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"pageIds\":[%d],\"targetSplitPartId\":%d}", Long.MAX_VALUE, part.getId()))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        detachAll();
+        assertThat(originalDocumentRepository.findById(doc.getId()).get().getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    void movePages_recordsLatencyHistogramsAndSizes() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        List<SplitPart> parts = splitPartRepository.findByOriginalDocumentId(doc.getId());
+        SplitPart partA = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 1 ? parts.get(0) : parts.get(1);
+        SplitPart partB = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 3 ? parts.get(0) : parts.get(1);
+        Long page3Id = pageRepository.findBySplitPartId(partB.getId()).get(0).getId();
+
+        mockMvc.perform(post("/api/pages/move")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"pageIds\":[%d],\"targetSplitPartId\":%d}", page3Id, partA.getId()))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        Timer endpoint = meterRegistry.get("http.server.requests").tag("uri", "/api/pages/move").tag("outcome", "SUCCESS").timer();
+        assertThat(endpoint.count()).isPositive();
+        assertThat(endpoint.takeSnapshot().percentileValues()).hasSize(3);
+        Timer service = meterRegistry.get("service.pages.move").tags("operation", "single", "exception", "none").timer();
+        assertThat(service.count()).isPositive();
+        assertThat(service.takeSnapshot().percentileValues()).hasSize(3);
+        assertThat(meterRegistry.get("security.jwt.authentication").tag("outcome", "authenticated").timer().count()).isPositive();
+        assertThat(meterRegistry.get("pages.moved").tag("operation", "single").summary().max()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("split.part.pages").summary().max()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void apiCalls_runExpectedSqlStatements() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        List<SplitPart> parts = splitPartRepository.findByOriginalDocumentId(doc.getId());
+        SplitPart partA = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 1 ? parts.get(0) : parts.get(1);
+        SplitPart partB = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 3 ? parts.get(0) : parts.get(1);
+        Long page3Id = pageRepository.findBySplitPartId(partB.getId()).get(0).getId();
+
+        detachAll();
+        mockMvc.perform(get("/api/documents/" + doc.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(4));
+        detachAll();
+        // Second read: entities and layout query results come from the second-level cache
+        mockMvc.perform(get("/api/documents/" + doc.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(1));
+        detachAll();
+        mockMvc.perform(get("/api/documents/" + doc.getId() + "?view=summary")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(2));
+        detachAll();
+        mockMvc.perform(get("/api/splits/" + partA.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(4));
+        detachAll();
+        mockMvc.perform(patch("/api/split-parts/" + partA.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed\"}")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                // Includes reading the split part's document id, so the document is locked before the split part is read
+                .andExpect(sqlStatements(8));
+        // The document lock taken by the PATCH is held until the test transaction ends, so no second SELECT ... FOR UPDATE
+        detachAll();
+        mockMvc.perform(post("/api/pages/move")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"pageIds\":[%d],\"targetSplitPartId\":%d}", page3Id, partA.getId()))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                // Includes the existence check that runs before the document is locked
+                .andExpect(sqlStatements(11));
+    }
+
+    @Test
+    void layoutEdits_moveBoundarySplitAndMerge() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        List<SplitPart> parts = splitPartRepository.findByOriginalDocumentId(doc.getId());
+        SplitPart partA = parts.get(0).getFromPage() == 1 ? parts.get(0) : parts.get(1);
+        SplitPart partB = parts.get(0).getFromPage() == 3 ? parts.get(0) : parts.get(1);
+        String layoutUrl = "/api/documents/" + doc.getId() + "/layout";
+        String since = JsonPath.read(mockMvc.perform(get("/api/documents/" + doc.getId() + "/changes")
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getContentAsString(), "$.token");
+
+        mockMvc.perform(get(layoutUrl)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + doc.getVersion() + "\""))
+                .andExpect(jsonPath("$.starts", contains(1, 3)))
+                .andExpect(jsonPath("$.splitPartIds", contains(partA.getId().intValue(), partB.getId().intValue())))
+                .andExpect(jsonPath("$.lastPage", is(3)));
+
+        // Page 2 moves from 80C to 80D: one range UPDATE of pages and one UPDATE per new range, then the layout is read back
+        detachAll();
+        mockMvc.perform(post(layoutUrl + "/move-boundary")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"boundaryPage\":3,\"newBoundaryPage\":2}")
+                        .header("If-Match", "\"" + doc.getVersion() + "\"")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.starts", contains(1, 2)))
+                .andExpect(jsonPath("$.version", is(doc.getVersion().intValue() + 1)))
+                .andExpect(sqlStatements(9));
+        detachAll();
+        assertThat(splitPartRepository.findById(partA.getId()).get().getToPage()).isEqualTo(1);
+        assertThat(splitPartRepository.findById(partA.getId()).get().getUpdatedAt()).isAfter(partA.getUpdatedAt());
+        assertThat(pageRepository.findPageNumbersBySplitPartId(partB.getId())).containsExactlyInAnyOrder(2, 3);
+
+        String split = mockMvc.perform(post(layoutUrl + "/split")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"page\":3,\"name\":\"Form 80D (2)\"}")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.starts", contains(1, 2, 3)))
+                .andReturn().getResponse().getContentAsString();
+        Long newPartId = JsonPath.<Integer>read(split, "$.splitPartIds[2]").longValue();
+        detachAll();
+        SplitPart newPart = splitPartRepository.findById(newPartId).get();
+        assertThat(newPart.getName()).isEqualTo("Form 80D (2)");
+        assertThat(newPart.getClassification()).isEqualTo(partB.getClassification());
+        assertThat(pageRepository.findPageNumbersBySplitPartId(newPartId)).containsExactly(3);
+        assertThat(splitPartRepository.findById(partB.getId()).get().getToPage()).isEqualTo(2);
+
+        // Not adjacent, and a boundary move that would empty a split part
+        mockMvc.perform(post(layoutUrl + "/merge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"splitPartId\":%d,\"adjacentSplitPartId\":%d}", partA.getId(), newPartId))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(layoutUrl + "/move-boundary")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"boundaryPage\":3,\"newBoundaryPage\":2}")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+
+        detachAll();
+        mockMvc.perform(post(layoutUrl + "/merge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"splitPartId\":%d,\"adjacentSplitPartId\":%d}", partB.getId(), newPartId))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.starts", contains(1, 2)))
+                .andExpect(jsonPath("$.splitPartIds", contains(partA.getId().intValue(), partB.getId().intValue())));
+        detachAll();
+        assertThat(splitPartRepository.findById(newPartId)).isEmpty();
+        assertThat(pageRepository.findPageNumbersBySplitPartId(partB.getId())).containsExactlyInAnyOrder(2, 3);
+
+        // 0 is the layout's marker for unassigned pages, not a split part
+        mockMvc.perform(post(layoutUrl + "/merge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"splitPartId\":%d,\"adjacentSplitPartId\":0}", partB.getId()))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+        // The split part created and merged away in between is reported as deleted
+        mockMvc.perform(get("/api/documents/" + doc.getId() + "/changes")
+                        .param("since", since)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.splitParts[*].id", containsInAnyOrder(partA.getId().intValue(), partB.getId().intValue())))
+                .andExpect(jsonPath("$.deletedSplitPartIds", contains(newPartId.intValue())));
+    }
+
+    @Test
+    void layoutEdits_afterCreatingSplitPartFromExistingPages() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        Long page2Id = pageRepository.findAssignmentsByOriginalDocumentId(doc.getId()).stream()
+                .filter(a -> a.getPageNumber() == 2)
+                .findFirst().get().getId();
+        String created = mockMvc.perform(post("/api/split-parts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"originalDocumentId\":%d,\"pageIds\":[%d],\"name\":\"Page 2\",\"classification\":\"Form\",\"filename\":\"page_2.pdf\"}",
+                                doc.getId(), page2Id))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Integer newPartId = JsonPath.read(created, "$.id");
+
+        // The source split part shrank to page 1, so the layout stays contiguous
+        mockMvc.perform(get("/api/documents/" + doc.getId() + "/layout")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.starts", contains(1, 2, 3)))
+                .andExpect(jsonPath("$.splitPartIds[1]", is(newPartId)));
+        mockMvc.perform(post("/api/documents/" + doc.getId() + "/layout/move-boundary")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"boundaryPage\":3,\"newBoundaryPage\":2}")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void layoutEdits_otherUsersDocument_notFound() throws Exception {
+        mockMvc.perform(post("/api/documents/" + Long.MAX_VALUE + "/layout/move-boundary")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"boundaryPage\":3,\"newBoundaryPage\":2}")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    // Requests share the test transaction; flush and detach so each one loads what it needs, as it would in production
+    private void detachAll() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void deleteSplitPart_reassignsPagesAndRecomputesTargetRange() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        List<SplitPart> parts = splitPartRepository.findByOriginalDocumentId(doc.getId());
+        SplitPart partA = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 1 ? parts.get(0) : parts.get(1);
+        SplitPart partB = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 3 ? parts.get(0) : parts.get(1);
+
+        mockMvc.perform(delete("/api/split-parts/" + partB.getId() + "?reassignTo=" + partA.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        org.assertj.core.api.Assertions.assertThat(splitPartRepository.findById(partB.getId())).isEmpty();
+        org.assertj.core.api.Assertions.assertThat(pageRepository.findPageNumbersBySplitPartId(partA.getId()))
+                .containsExactlyInAnyOrder(1, 2, 3);
+        SplitPart updatedA = splitPartRepository.findById(partA.getId()).get();
+        org.assertj.core.api.Assertions.assertThat(updatedA.getFromPage()).isEqualTo(1);
+        org.assertj.core.api.Assertions.assertThat(updatedA.getToPage()).isEqualTo(3);
+    }
+
+    @Test
+    void deleteSplitPart_reassignToNonAdjacentSplitPart_rejected() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        List<SplitPart> parts = splitPartRepository.findByOriginalDocumentId(doc.getId());
+        SplitPart partA = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 1 ? parts.get(0) : parts.get(1);
+        SplitPart partB = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 3 ? parts.get(0) : parts.get(1);
+        // Split A (pages 1-2) at page 2, so page 2 lies between A and B
+        mockMvc.perform(post("/api/documents/" + doc.getId() + "/layout/split")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"page\":2,\"name\":\"Middle\"}")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.starts", contains(1, 2, 3)));
+
+        mockMvc.perform(delete("/api/split-parts/" + partB.getId() + "?reassignTo=" + partA.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+
+        detachAll();
+        org.assertj.core.api.Assertions.assertThat(splitPartRepository.findById(partB.getId())).isPresent();
+        org.assertj.core.api.Assertions.assertThat(pageRepository.findPageNumbersBySplitPartId(partA.getId())).containsExactly(1);
+        mockMvc.perform(get("/api/documents/" + doc.getId() + "/layout")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.starts", contains(1, 2, 3)));
+    }
+
+    @Test
+    void deleteSplitPart_withoutReassign_leavesPagesUnassigned() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        SplitPart part = splitPartRepository.findByOriginalDocumentId(doc.getId()).get(0);
+        List<Long> pageIds = pageRepository.findBySplitPartId(part.getId()).stream().map(Page::getId).toList();
+
+        mockMvc.perform(delete("/api/split-parts/" + part.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        org.assertj.core.api.Assertions.assertThat(splitPartRepository.findById(part.getId())).isEmpty();
+        org.assertj.core.api.Assertions.assertThat(pageRepository.findAllById(pageIds))
+                .hasSize(pageIds.size())
+                .allSatisfy(p -> org.assertj.core.api.Assertions.assertThat(p.getSplitPart()).isNull());
+    }
+
+    @Test
+    void downloadSplit_streamsPageRangeOfStoredSource() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        List<SplitPart> parts = splitPartRepository.findByOriginalDocumentId(doc.getId());
+        SplitPart partA = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 1 ? parts.get(0) : parts.get(1);
+        Path source = pdfStorageService.originalPath(doc.getId());
+        Files.createDirectories(source.getParent());
+        try (PDDocument pdf = new PDDocument()) {
+            for (int i = 0; i < 3; i++) {
+                pdf.addPage(new PDPage());
+            }
+            pdf.save(source.toFile());
+        }
+        partA.setFilename("Form \"80C\" ü.pdf");
+        splitPartRepository.saveAndFlush(partA);
+        try {
+            MvcResult async = mockMvc.perform(get("/api/splits/" + partA.getId() + "/download")
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            byte[] body = mockMvc.perform(asyncDispatch(async))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Type", "application/pdf"))
+                    .andExpect(header().string("Content-Disposition", containsString("filename*=UTF-8''Form%20%2280C%22%20%C3%BC.pdf")))
+                    // Rendered on another thread, where the per-thread statement count does not reach
+                    .andExpect(header().doesNotExist(SqlBudgetFilter.HEADER))
+                    .andReturn().getResponse().getContentAsByteArray();
+            try (PDDocument downloaded = Loader.loadPDF(body)) {
+                org.assertj.core.api.Assertions.assertThat(downloaded.getNumberOfPages()).isEqualTo(2);
+            }
+        } finally {
+            Files.deleteIfExists(source);
+        }
+    }
+
+    @Test
+    void downloadSplit_rangeOutsideStoredSource_rejectedBeforeStreaming() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        List<SplitPart> parts = splitPartRepository.findByOriginalDocumentId(doc.getId());
+        SplitPart partA = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 1 ? parts.get(0) : parts.get(1);
+        // Split part A covers pages 1-2, the stored source has one page
+        Path source = pdfStorageService.originalPath(doc.getId());
+        Files.createDirectories(source.getParent());
+        try (PDDocument pdf = new PDDocument()) {
+            pdf.addPage(new PDPage());
+            pdf.save(source.toFile());
+        }
+        try {
+            mockMvc.perform(get("/api/splits/" + partA.getId() + "/download")
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(request().asyncNotStarted())
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/documents/" + doc.getId() + "/download")
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(request().asyncNotStarted())
+                    .andExpect(status().isBadRequest());
+        } finally {
+            Files.deleteIfExists(source);
+        }
+    }
+
+    @Test
+    void movePagesBatch_validatesOnlyFinalLayout() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        List<SplitPart> parts = splitPartRepository.findByOriginalDocumentId(doc.getId());
+        SplitPart partA = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 1 ? parts.get(0) : parts.get(1);
+        SplitPart partB = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 3 ? parts.get(0) : parts.get(1);
+        List<Page> pagesA = pageRepository.findBySplitPartId(partA.getId());
+        Long page1Id = pagesA.stream().filter(p -> p.getPageNumber() == 1).findFirst().get().getId();
+        Long page2Id = pagesA.stream().filter(p -> p.getPageNumber() == 2).findFirst().get().getId();
+        // Moving page 1 alone into B (page 3) would be rejected; followed by page 2 the final layout is contiguous
+        String req = String.format("{\"originalDocumentId\":%d,\"moves\":[" +
+                        "{\"pageIds\":[%d],\"targetSplitPartId\":%d}," +
+                        "{\"pageIds\":[%d],\"targetSplitPartId\":%d}]}",
+                doc.getId(), page1Id, partB.getId(), page2Id, partB.getId());
+
+        mockMvc.perform(post("/api/pages/move/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(req)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        org.assertj.core.api.Assertions.assertThat(splitPartRepository.findById(partA.getId())).isEmpty();
+        SplitPart updatedB = splitPartRepository.findById(partB.getId()).get();
+        org.assertj.core.api.Assertions.assertThat(updatedB.getFromPage()).isEqualTo(1);
+        org.assertj.core.api.Assertions.assertThat(updatedB.getToPage()).isEqualTo(3);
+    }
+
+    @Test
+    void movePagesBatch_nonContiguousFinalLayout_rejected() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        List<SplitPart> parts = splitPartRepository.findByOriginalDocumentId(doc.getId());
+        SplitPart partA = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 1 ? parts.get(0) : parts.get(1);
+        SplitPart partB = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 3 ? parts.get(0) : parts.get(1);
+        Long page1Id = pageRepository.findBySplitPartId(partA.getId()).stream()
+                .filter(p -> p.getPageNumber() == 1).findFirst().get().getId();
+        String req = String.format("{\"originalDocumentId\":%d,\"moves\":[{\"pageIds\":[%d],\"targetSplitPartId\":%d}]}",
+                doc.getId(), page1Id, partB.getId());
+
+        mockMvc.perform(post("/api/pages/move/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(req)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+
+        org.assertj.core.api.Assertions.assertThat(pageRepository.findPageNumbersBySplitPartId(partA.getId()))
+                .containsExactlyInAnyOrder(1, 2);
     }
 
     @Test
@@ -154,5 +630,357 @@ public class SplitFlowIntegrationTest {
                 .andExpect(jsonPath("$.classification", is("X")))
                 .andExpect(jsonPath("$.filename", is("f.pdf")));
     }
-}
 
+    @Test
+    void getDocument_revalidatesWithETag() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+
+        String etag = mockMvc.perform(get("/api/documents/" + doc.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + doc.getVersion() + "\""))
+                .andExpect(jsonPath("$.version", is(doc.getVersion().intValue())))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/documents/" + doc.getId())
+                        .header("If-None-Match", etag)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void patchSplitPart_ifMatch_rejectsStaleVersion() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        SplitPart part = splitPartRepository.findByOriginalDocumentId(doc.getId()).get(0);
+        String current = "\"" + part.getVersion() + "\"";
+
+        String next = mockMvc.perform(patch("/api/split-parts/" + part.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"First\",\"classification\":\"X\",\"filename\":\"f.pdf\"}")
+                        .header("If-Match", current)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(current)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(patch("/api/split-parts/" + part.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Second\",\"classification\":\"X\",\"filename\":\"f.pdf\"}")
+                        .header("If-Match", current)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.error", is("precondition_failed")));
+
+        mockMvc.perform(get("/api/splits/" + part.getId())
+                        .header("If-None-Match", next)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void movePages_evictsCachedLayout() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        List<SplitPart> parts = splitPartRepository.findByOriginalDocumentId(doc.getId());
+        SplitPart partA = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 1 ? parts.get(0) : parts.get(1);
+        SplitPart partB = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 3 ? parts.get(0) : parts.get(1);
+        Long page3Id = pageRepository.findBySplitPartId(partB.getId()).get(0).getId();
+
+        // Loads split part A and its pages into the second-level cache
+        mockMvc.perform(get("/api/splits/" + partA.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pages", hasSize(2)));
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Long page1Id = pageRepository.findAssignmentsByOriginalDocumentId(doc.getId()).stream()
+                .filter(a -> a.getPageNumber() == 1)
+                .findFirst().get().getId();
+        assertThat(cache.containsEntity(Page.class, page1Id)).isTrue();
+
+        mockMvc.perform(post("/api/pages/move")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"pageIds\":[%d],\"targetSplitPartId\":%d}", page3Id, partA.getId()))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        // Only the split parts and pages of the move are evicted
+        assertThat(cache.containsEntity(SplitPart.class, partA.getId())).isFalse();
+        assertThat(cache.containsCollection(SplitPart.class.getName() + ".pages", partA.getId())).isFalse();
+        assertThat(cache.containsEntity(Page.class, page1Id)).isTrue();
+
+        mockMvc.perform(get("/api/splits/" + partA.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pages", hasSize(3)))
+                .andExpect(jsonPath("$.toPage", is(3)));
+        mockMvc.perform(get("/api/splits/" + partB.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getDocument_summaryAndPagesViews_omitPageData() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        String summaryTag = mockMvc.perform(get("/api/documents/" + doc.getId())
+                        .param("view", "summary")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + doc.getVersion() + "-summary\""))
+                .andExpect(jsonPath("$.splitParts", hasSize(2)))
+                .andExpect(jsonPath("$.splitParts[0].fromPage", is(1)))
+                .andExpect(jsonPath("$.splitParts[0].toPage", is(2)))
+                .andExpect(jsonPath("$.splitParts[0].pages").doesNotExist())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/documents/" + doc.getId())
+                        .param("view", "summary")
+                        .header("If-None-Match", summaryTag)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotModified());
+        EntityStatistics pageStatistics = statistics.getEntityStatistics(Page.class.getName());
+        assertThat(pageStatistics.getLoadCount() + pageStatistics.getFetchCount() + pageStatistics.getCacheHitCount()).isZero();
+
+        String json = mockMvc.perform(get("/api/documents/" + doc.getId())
+                        .param("view", "pages")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.splitParts[0].pages[*].pageNumber", contains(1, 2)))
+                .andExpect(jsonPath("$.splitParts[1].pages[*].pageNumber", contains(3)))
+                .andExpect(jsonPath("$.splitParts[0].pages[0].content").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+        Integer splitPartId = JsonPath.read(json, "$.splitParts[0].id");
+
+        mockMvc.perform(get("/api/splits/" + splitPartId)
+                        .param("view", "pages")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pages[*].pageNumber", contains(1, 2)))
+                .andExpect(jsonPath("$.pages[0].content").doesNotExist());
+        mockMvc.perform(get("/api/splits/" + splitPartId)
+                        .param("view", "summary")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Form 80C")))
+                .andExpect(jsonPath("$.pages").doesNotExist());
+        assertThat(pageStatistics.getLoadCount() + pageStatistics.getFetchCount() + pageStatistics.getCacheHitCount()).isZero();
+
+        // The summary's tag does not revalidate the full view
+        mockMvc.perform(get("/api/documents/" + doc.getId())
+                        .header("If-None-Match", summaryTag)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + doc.getVersion() + "\""));
+        mockMvc.perform(get("/api/documents/" + doc.getId())
+                        .param("view", "everything")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getDocumentChanges_returnsOnlyChangesSinceToken() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        List<SplitPart> parts = splitPartRepository.findByOriginalDocumentId(doc.getId());
+        SplitPart partA = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 1 ? parts.get(0) : parts.get(1);
+        SplitPart partB = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 3 ? parts.get(0) : parts.get(1);
+        Long page3Id = pageRepository.findBySplitPartId(partB.getId()).get(0).getId();
+
+        String full = mockMvc.perform(get("/api/documents/" + doc.getId() + "/changes")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.splitParts", hasSize(2)))
+                .andExpect(jsonPath("$.deletedSplitPartIds", hasSize(0)))
+                .andReturn().getResponse().getContentAsString();
+        String since = JsonPath.read(full, "$.token");
+
+        // Empties split part B: A changes, B is deleted
+        mockMvc.perform(post("/api/pages/move")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"pageIds\":[%d],\"targetSplitPartId\":%d}", page3Id, partA.getId()))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        String delta = mockMvc.perform(get("/api/documents/" + doc.getId() + "/changes")
+                        .param("since", since)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.splitParts", hasSize(1)))
+                .andExpect(jsonPath("$.splitParts[0].id", is(partA.getId().intValue())))
+                .andExpect(jsonPath("$.splitParts[0].pages", hasSize(3)))
+                .andExpect(jsonPath("$.splitParts[0].pages[*].pageNumber", contains(1, 2, 3)))
+                .andExpect(jsonPath("$.splitParts[0].pages[0].content").doesNotExist())
+                .andExpect(jsonPath("$.deletedSplitPartIds", contains(partB.getId().intValue())))
+                .andReturn().getResponse().getContentAsString();
+        String next = JsonPath.read(delta, "$.token");
+
+        mockMvc.perform(get("/api/documents/" + doc.getId() + "/changes")
+                        .param("since", next)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.splitParts", hasSize(0)))
+                .andExpect(jsonPath("$.deletedSplitPartIds", hasSize(0)));
+        mockMvc.perform(get("/api/documents/" + doc.getId() + "/changes")
+                        .param("since", "not-a-token")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getDocumentChanges_afterTwoWritesInOneTransaction_returnsBothOnce() throws Exception {
+        // The test transaction spans both PATCH requests, so the document is touched and flushed twice before commit
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        List<SplitPart> parts = splitPartRepository.findByOriginalDocumentId(doc.getId());
+        String since = JsonPath.read(mockMvc.perform(get("/api/documents/" + doc.getId() + "/changes")
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getContentAsString(), "$.token");
+        Long sinceVersion = doc.getVersion();
+        for (SplitPart part : parts) {
+            mockMvc.perform(patch("/api/split-parts/" + part.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"Renamed " + part.getId() + "\"}")
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+
+        String delta = mockMvc.perform(get("/api/documents/" + doc.getId() + "/changes")
+                        .param("since", since)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.splitParts[*].id", containsInAnyOrder(
+                        parts.stream().map(part -> part.getId().intValue()).toArray())))
+                .andReturn().getResponse().getContentAsString();
+        long version = JsonPath.<Integer>read(delta, "$.version");
+        detachAll();
+        // Each split part is stamped with a version after the old token and covered by the new one
+        for (SplitPart part : parts) {
+            long changeVersion = splitPartRepository.findById(part.getId()).get().getChangeVersion();
+            assertThat(changeVersion).isGreaterThan(sinceVersion).isLessThanOrEqualTo(version);
+        }
+        mockMvc.perform(get("/api/documents/" + doc.getId() + "/changes")
+                        .param("since", (String) JsonPath.read(delta, "$.token"))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.splitParts", hasSize(0)));
+    }
+
+    @Test
+    void createSplitPart_recomputesAndDeletesSourceSplitParts() throws Exception {
+        OriginalDocument doc = originalDocumentRepository.findAll().get(0);
+        List<SplitPart> parts = splitPartRepository.findByOriginalDocumentId(doc.getId());
+        SplitPart partA = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 1 ? parts.get(0) : parts.get(1);
+        SplitPart partB = parts.get(0).getFromPage() != null && parts.get(0).getFromPage() == 3 ? parts.get(0) : parts.get(1);
+        List<Long> pageIds = pageRepository.findAssignmentsByOriginalDocumentId(doc.getId()).stream()
+                .filter(a -> a.getPageNumber() >= 2)
+                .map(PageRepository.PageAssignment::getId)
+                .toList();
+        String since = JsonPath.read(mockMvc.perform(get("/api/documents/" + doc.getId() + "/changes")
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getContentAsString(), "$.token");
+
+        // Page 2 leaves A, page 3 empties B
+        String created = mockMvc.perform(post("/api/split-parts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"originalDocumentId\":%d,\"pageIds\":[%d,%d],\"name\":\"Pages 2-3\",\"classification\":\"Form\",\"filename\":\"pages_2_3.pdf\"}",
+                                doc.getId(), pageIds.get(0), pageIds.get(1)))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromPage", is(2)))
+                .andExpect(jsonPath("$.pages", hasSize(2)))
+                .andReturn().getResponse().getContentAsString();
+        Integer newPartId = JsonPath.read(created, "$.id");
+
+        mockMvc.perform(get("/api/documents/" + doc.getId() + "/changes")
+                        .param("since", since)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.splitParts[*].id", containsInAnyOrder(partA.getId().intValue(), newPartId)))
+                .andExpect(jsonPath("$.splitParts[?(@.id == " + partA.getId() + ")].toPage", contains(1)))
+                .andExpect(jsonPath("$.deletedSplitPartIds", contains(partB.getId().intValue())));
+    }
+
+    @Test
+    void ingestDocuments_persistsValidDocumentsAndReportsRejected() throws Exception {
+        String ndjson = """
+                {"originalFilename":"batch.pdf","splitParts":[\
+                {"name":"Form 16","classification":"16","filename":"f16.pdf","pages":[{"pageNumber":1,"content":"a"},{"pageNumber":2}]},\
+                {"name":"Form 26AS","classification":"26AS","filename":"f26.pdf","pages":[{"pageNumber":3}]}]}
+                {"originalFilename":"bad.pdf","splitParts":[{"name":"Gap","classification":"X","filename":"x.pdf","pages":[{"pageNumber":1},{"pageNumber":3}]}]}
+                """;
+
+        mockMvc.perform(post("/api/documents/ingest")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.documents", is(1)))
+                .andExpect(jsonPath("$.splitParts", is(2)))
+                .andExpect(jsonPath("$.pages", is(3)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.errors[0].record", is(2)))
+                .andExpect(jsonPath("$.errors[0].line", is(2)));
+
+        OriginalDocument ingested = originalDocumentRepository.findAll().stream()
+                .filter(d -> d.getOriginalFilename().equals("batch.pdf"))
+                .findFirst().orElseThrow();
+        mockMvc.perform(get("/api/documents/" + ingested.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("PENDING")))
+                .andExpect(jsonPath("$.splitParts", hasSize(2)))
+                .andExpect(jsonPath("$.splitParts[*].toPage", containsInAnyOrder(2, 3)));
+    }
+
+    @Test
+    void ingestDocuments_malformedJson_rejected() throws Exception {
+        mockMvc.perform(post("/api/documents/ingest")
+                        .contentType("application/x-ndjson")
+                        .content("{\"originalFilename\": \n")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Malformed NDJSON")));
+    }
+
+    @Test
+    void uploadDocument_extractsPageText() throws Exception {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 1; i <= 3; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream stream = new PDPageContentStream(document, page)) {
+                    stream.beginText();
+                    stream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                    stream.newLineAtOffset(72, 700);
+                    stream.showText("Page text " + i);
+                    stream.endText();
+                }
+            }
+            document.save(pdf);
+        }
+
+        MvcResult result = mockMvc.perform(multipart("/api/documents/upload")
+                        .file(new MockMultipartFile("file", "scan.pdf", MediaType.APPLICATION_PDF_VALUE, pdf.toByteArray()))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.originalFilename", is("scan.pdf")))
+                .andExpect(jsonPath("$.status", is("PENDING")))
+                .andReturn();
+        String location = result.getResponse().getHeader("Location");
+
+        mockMvc.perform(get(location)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.splitParts", hasSize(1)))
+                .andExpect(jsonPath("$.splitParts[0].fromPage", is(1)))
+                .andExpect(jsonPath("$.splitParts[0].toPage", is(3)))
+                .andExpect(jsonPath("$.splitParts[0].pages[*].content", contains("Page text 1", "Page text 2", "Page text 3")));
+    }
+
+    @Test
+    void uploadDocument_notPdf_rejected() throws Exception {
+        mockMvc.perform(multipart("/api/documents/upload")
+                        .file(new MockMultipartFile("file", "notes.pdf", MediaType.APPLICATION_PDF_VALUE, "not a pdf".getBytes()))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+}
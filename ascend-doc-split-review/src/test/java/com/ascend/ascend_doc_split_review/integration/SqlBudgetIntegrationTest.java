@@ -0,0 +1,157 @@
+package com.ascend.ascend_doc_split_review.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs the standard flows of a document, from upload to finalization, and checks that none of their requests
+ * goes over its {@code sql.budget.*} statement budget. Not transactional, so every request runs and commits in
+ * its own transactions as it does in production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+public class SqlBudgetIntegrationTest {
+
+    private static final long JOB_TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String token;
+
+    @BeforeEach
+    void register() throws Exception {
+        String username = "budget-" + UUID.randomUUID();
+        String body = "{\"username\":\"" + username + "\",\"password\":\"password\",\"email\":\"" + username + "@example.com\"}";
+        String json = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        token = JsonPath.read(json, "$.token");
+    }
+
+    @Test
+    void standardFlows_stayWithinSqlBudgets(CapturedOutput output) throws Exception {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < 4; i++) {
+                document.addPage(new PDPage());
+            }
+            document.save(pdf);
+        }
+        String uploaded = mockMvc.perform(multipart("/api/documents/upload")
+                        .file(new MockMultipartFile("file", "bundle.pdf", MediaType.APPLICATION_PDF_VALUE, pdf.toByteArray()))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Integer documentId = JsonPath.read(uploaded, "$.id");
+        String documentUrl = "/api/documents/" + documentId;
+        String document = perform(get(documentUrl));
+        Integer wholeId = JsonPath.read(document, "$.splitParts[0].id");
+        List<Integer> pageIds = JsonPath.read(document, "$.splitParts[0].pages[*].id");
+        perform(get(documentUrl + "?view=summary"));
+        perform(get(documentUrl + "?view=pages"));
+        perform(get("/api/documents"));
+        perform(get("/api/splits/" + wholeId));
+        perform(get(documentUrl + "/layout"));
+        String since = JsonPath.read(perform(get(documentUrl + "/changes")), "$.token");
+
+        // Whole document 1-4: split off page 4, then move pages 3 and 2 to it, singly and as a batch
+        String created = perform(post("/api/split-parts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("{\"originalDocumentId\":%d,\"pageIds\":[%d],\"name\":\"Tail\",\"classification\":\"X\",\"filename\":\"tail.pdf\"}",
+                        documentId, pageIds.get(3))));
+        Integer tailId = JsonPath.read(created, "$.id");
+        perform(patch("/api/split-parts/" + tailId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Renamed\"}"));
+        perform(post("/api/pages/move")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("{\"pageIds\":[%d],\"targetSplitPartId\":%d}", pageIds.get(2), tailId)));
+        perform(post("/api/pages/move/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("{\"originalDocumentId\":%d,\"moves\":[{\"pageIds\":[%d],\"targetSplitPartId\":%d}]}",
+                        documentId, pageIds.get(1), tailId)));
+
+        // Layout edits: 1-2 | 3-4, then 1-2 | 3 | 4 merged back, then 1 | 2 | 3-4 with page 2 reassigned on delete
+        perform(post(documentUrl + "/layout/move-boundary")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"boundaryPage\":2,\"newBoundaryPage\":3}"));
+        String split = perform(post(documentUrl + "/layout/split")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"page\":4,\"name\":\"Last\"}"));
+        Integer lastId = JsonPath.<List<Integer>>read(split, "$.splitPartIds").get(2);
+        perform(post(documentUrl + "/layout/merge")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("{\"splitPartId\":%d,\"adjacentSplitPartId\":%d}", tailId, lastId)));
+        split = perform(post(documentUrl + "/layout/split")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"page\":2,\"name\":\"Middle\"}"));
+        Integer middleId = JsonPath.<List<Integer>>read(split, "$.splitPartIds").get(1);
+        perform(delete("/api/split-parts/" + middleId + "?reassignTo=" + wholeId));
+        perform(post("/api/split-parts/" + wholeId + "/finalize"));
+        perform(get(documentUrl + "/changes?since=" + since));
+        download("/api/splits/" + tailId + "/download");
+        download(documentUrl + "/download");
+
+        MvcResult accepted = mockMvc.perform(post(documentUrl + "/finalize")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        awaitFinished(accepted.getResponse().getHeader("Location"));
+        perform(get(documentUrl + "/layout"));
+
+        assertThat(output).doesNotContain("over its budget");
+    }
+
+    private String perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private void download(String url) throws Exception {
+        MvcResult download = mockMvc.perform(get(url)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(download))
+                .andExpect(status().isOk());
+    }
+
+    private void awaitFinished(String jobLocation) throws Exception {
+        long deadline = System.currentTimeMillis() + JOB_TIMEOUT_MILLIS;
+        while (true) {
+            String status = JsonPath.read(perform(get(jobLocation)), "$.status");
+            if (status.equals("SUCCEEDED") || status.equals("FAILED") || System.currentTimeMillis() > deadline) {
+                assertThat(status).isEqualTo("SUCCEEDED");
+                return;
+            }
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ascend.ascend_doc_split_review.integration;
+
+import com.ascend.ascend_doc_split_review.controller.SqlBudgetFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Asserts how many SQL statements a request ran, as reported in the {@value SqlBudgetFilter#HEADER} header. Counts
+ * depend on what is already cached, so tests using it start from an empty second-level cache.
+ */
+final class SqlStatements {
+
+    private SqlStatements() {
+    }
+
+    static ResultMatcher sqlStatements(int expected) {
+        return result -> assertThat(result.getResponse().getHeader(SqlBudgetFilter.HEADER))
+                .as("SQL statements run by %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isEqualTo(Integer.toString(expected));
+    }
+}
@@ -0,0 +1,64 @@
+package com.ascend.ascend_doc_split_review.security;
+
+import com.ascend.ascend_doc_split_review.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static JwtUtil jwtUtil(long expiration) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "TestSecretKeyThatIsDefinitelyAtLeast32BytesLong");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", expiration);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    private static UserPrincipal principal() {
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("alice");
+        user.setPassword("hash");
+        user.setRole(User.Role.ACCOUNTANT);
+        return new UserPrincipal(user);
+    }
+
+    @Test
+    void testTokenCarriesUserIdAndRoleClaims() {
+        JwtUtil jwtUtil = jwtUtil(60_000);
+        Claims claims = jwtUtil.parseClaims(jwtUtil.generateToken(principal()));
+        assertEquals("alice", claims.getSubject());
+        assertEquals(42L, claims.get(JwtUtil.CLAIM_USER_ID, Number.class).longValue());
+        assertEquals("ACCOUNTANT", claims.get(JwtUtil.CLAIM_ROLE, String.class));
+    }
+
+    @Test
+    void testValidateToken() {
+        JwtUtil jwtUtil = jwtUtil(60_000);
+        String token = jwtUtil.generateToken(principal());
+        assertTrue(jwtUtil.validateToken(token, principal()));
+        assertFalse(jwtUtil.validateToken(token + "x", principal()));
+    }
+
+    @Test
+    void testExpiredTokenRejected() {
+        JwtUtil jwtUtil = jwtUtil(-1_000);
+        String token = jwtUtil.generateToken(principal());
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.parseClaims(token));
+    }
+
+    @Test
+    void testTokenSignedWithOtherKeyRejected() {
+        JwtUtil other = new JwtUtil();
+        ReflectionTestUtils.setField(other, "secret", "AnotherSecretKeyThatIsDefinitelyAtLeast32BytesLong");
+        ReflectionTestUtils.setField(other, "expiration", 60_000L);
+        other.init();
+        String token = other.generateToken(principal());
+        assertThrows(JwtException.class, () -> jwtUtil(60_000).parseClaims(token));
+    }
+}
@@ -0,0 +1,109 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentLocksTest {
+
+    private SimpleMeterRegistry registry;
+    private DocumentLocks locks;
+    private ExecutorService other;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        locks = new DocumentLocks(registry, 100);
+        other = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        other.shutdownNow();
+    }
+
+    @Test
+    void testSameDocumentWaitsThenTimesOut() throws Exception {
+        inTransaction(() -> {
+            assertTrue(locks.lockUntilCompletion(1L));
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> other.submit(() -> inTransaction(() -> locks.lockUntilCompletion(1L))).get());
+            return assertInstanceOf(CannotAcquireLockException.class, e.getCause());
+        });
+        assertEquals(1, registry.get("document.lock.wait").tag("outcome", "timeout").timer().count());
+        assertTrue(registry.get("document.lock.wait").tag("outcome", "timeout").timer().totalTime(TimeUnit.MILLISECONDS) >= 100);
+    }
+
+    @Test
+    void testOtherDocumentsDoNotContend() throws Exception {
+        inTransaction(() -> {
+            assertTrue(locks.lockUntilCompletion(1L));
+            assertTrue(other.submit(() -> inTransaction(() -> locks.lockUntilCompletion(2L))).get());
+            assertTrue(locks.lockUntilCompletion(3L));
+            return null;
+        });
+        assertEquals(3, registry.get("document.lock.wait").tag("outcome", "uncontended").timer().count());
+        assertEquals(0, registry.get("document.locks.active").gauge().value());
+    }
+
+    @Test
+    void testLockIsHeldUntilTheTransactionCompletes() throws Exception {
+        inTransaction(() -> {
+            assertTrue(locks.lockUntilCompletion(1L));
+            // Reentrant within the transaction: the caller learns the lock was already taken
+            assertFalse(locks.lockUntilCompletion(1L));
+            assertEquals(1, registry.get("document.locks.active").gauge().value());
+            return null;
+        });
+        assertEquals(0, registry.get("document.locks.active").gauge().value());
+        assertTrue(other.submit(() -> inTransaction(() -> locks.lockUntilCompletion(1L))).get());
+    }
+
+    @Test
+    void testWaiterGetsTheLockWhenTheHolderCompletes() throws Exception {
+        locks = new DocumentLocks(registry, 10_000);
+        Future<Boolean> waiter = inTransaction(() -> {
+            assertTrue(locks.lockUntilCompletion(1L));
+            Future<Boolean> submitted = other.submit(() -> inTransaction(() -> locks.lockUntilCompletion(1L)));
+            Thread.sleep(50);
+            return submitted;
+        });
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(2, registry.get("document.lock.wait").timers().stream().mapToLong(Timer::count).sum());
+    }
+
+    @Test
+    void testRequiresATransaction() {
+        assertThrows(IllegalStateException.class, () -> locks.lockUntilCompletion(1L));
+    }
+
+    private static <T> T inTransaction(Callable<T> work) throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            return work.call();
+        } finally {
+            complete();
+        }
+    }
+
+    private static void complete() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
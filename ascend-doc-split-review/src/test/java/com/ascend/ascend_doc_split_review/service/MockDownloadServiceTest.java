@@ -0,0 +1,74 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MockDownloadServiceTest {
+
+    @Test
+    void testGeneratesPdfForAnyId() throws Exception {
+        MockDownloadService service = new MockDownloadService(new SimpleMeterRegistry(), 1_000_000);
+        try (PDDocument pdf = Loader.loadPDF(service.getMockFile(123_456L))) {
+            assertEquals(1, pdf.getNumberOfPages());
+        }
+        assertEquals(0, service.getMockFile(null).length);
+    }
+
+    @Test
+    void testRepeatedRequestsAreServedFromCache() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MockDownloadService service = new MockDownloadService(registry, 1_000_000);
+
+        byte[] first = service.getMockFile(7L);
+        byte[] second = service.getMockFile(7L);
+
+        assertSame(first, second);
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "mockDownloadFiles").tag("result", "miss").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "mockDownloadFiles").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testLeastRecentlyUsedFileIsEvictedOverByteBudget() {
+        int fileSize = new MockDownloadService(new SimpleMeterRegistry(), 1_000_000).getMockFile(1L).length;
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // Room for two files, not three
+        MockDownloadService service = new MockDownloadService(registry, fileSize * 5L / 2);
+
+        byte[] one = service.getMockFile(1L);
+        byte[] two = service.getMockFile(2L);
+        service.getMockFile(1L);
+        // Over budget: 2 is now the least recently used file, although 1 was rendered first
+        service.getMockFile(3L);
+
+        assertEquals(1.0, registry.get("cache.evictions").tag("cache", "mockDownloadFiles").functionCounter().count());
+        assertSame(one, service.getMockFile(1L));
+        assertNotSame(two, service.getMockFile(2L));
+    }
+
+    @Test
+    void testConcurrentRequestsForSameIdRenderOnce() throws Exception {
+        MockDownloadService service = new MockDownloadService(new SimpleMeterRegistry(), 1_000_000);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<byte[]>> calls = IntStream.range(0, 16).<Callable<byte[]>>mapToObj(i -> () -> service.getMockFile(99L)).toList();
+            List<Future<byte[]>> results = pool.invokeAll(calls);
+            byte[] expected = results.get(0).get();
+            for (Future<byte[]> result : results) {
+                assertSame(expected, result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
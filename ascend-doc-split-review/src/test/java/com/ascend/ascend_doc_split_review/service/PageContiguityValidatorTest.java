@@ -0,0 +1,76 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageContiguityValidatorTest {
+
+    @Test
+    void testTargetWithDuplicatesIsContiguous() {
+        ContiguityReport report = new PageContiguityValidator()
+                .checkTarget(1L, new int[]{1, 2, 3}, new int[]{3, 4, 5})
+                .report();
+        assertTrue(report.isContiguous());
+    }
+
+    @Test
+    void testTargetGapIsReported() {
+        ContiguityReport report = new PageContiguityValidator()
+                .checkTarget(1L, new int[]{1, 2}, new int[]{5, 9})
+                .report();
+        assertFalse(report.isContiguous());
+        assertEquals(2, report.getGaps().size());
+        assertEquals(new ContiguityReport.Gap(1L, ContiguityReport.Side.TARGET, 3, 4), report.getGaps().get(0));
+        assertEquals(new ContiguityReport.Gap(1L, ContiguityReport.Side.TARGET, 6, 8), report.getGaps().get(1));
+        assertEquals("3-4, 6-8", report.describe(ContiguityReport.Side.TARGET));
+    }
+
+    @Test
+    void testSourceRemovingMiddlePageLeavesGap() {
+        ContiguityReport report = new PageContiguityValidator()
+                .checkSource(2L, new int[]{3, 4, 5}, new int[]{4})
+                .report();
+        assertTrue(report.hasGaps(ContiguityReport.Side.SOURCE));
+        assertFalse(report.hasGaps(ContiguityReport.Side.TARGET));
+        assertEquals("4", report.describe(ContiguityReport.Side.SOURCE));
+    }
+
+    @Test
+    void testSourceEmptiedOrTrimmedAtEdgesIsContiguous() {
+        ContiguityReport report = new PageContiguityValidator()
+                .checkSource(2L, new int[]{3, 4, 5}, new int[]{3, 4, 5})
+                .checkSource(3L, new int[]{6, 7, 8, 9}, new int[]{6, 9})
+                .report();
+        assertTrue(report.isContiguous());
+    }
+
+    @Test
+    void testChecksAccumulateAcrossSplitParts() {
+        ContiguityReport report = new PageContiguityValidator()
+                .checkTarget(1L, new int[]{1}, new int[]{3})
+                .checkSource(2L, new int[]{10, 11, 12}, new int[]{11})
+                .report();
+        assertEquals(2, report.getGaps().size());
+        assertEquals(1L, report.getGaps().get(0).splitPartId());
+        assertEquals(2L, report.getGaps().get(1).splitPartId());
+    }
+
+    @Test
+    void testLargeContiguousRange() {
+        int[] existing = new int[5000];
+        for (int i = 0; i < existing.length; i++) {
+            existing[i] = existing.length - i;
+        }
+        ContiguityReport report = new PageContiguityValidator()
+                .checkTarget(1L, existing, new int[]{5001})
+                .report();
+        assertTrue(report.isContiguous());
+    }
+
+    @Test
+    void testNegativePageNumberRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PageContiguityValidator().checkPages(1L, new int[]{-1}, ContiguityReport.Side.TARGET));
+    }
+}
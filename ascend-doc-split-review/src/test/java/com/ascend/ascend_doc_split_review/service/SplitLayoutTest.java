@@ -0,0 +1,122 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import com.ascend.ascend_doc_split_review.entity.SplitPart;
+import com.ascend.ascend_doc_split_review.repository.SplitPartRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SplitLayoutTest {
+
+    private record TestRange(Long getId, Integer getFromPage, Integer getToPage) implements SplitPartRepository.SplitPartRange {
+        @Override
+        public SplitPart.Status getStatus() {
+            return SplitPart.Status.PENDING;
+        }
+    }
+
+    // Split parts 10 (pages 1-4), 20 (5-6), 30 (7-10), in storage order
+    private static SplitLayout threeParts() {
+        return SplitLayout.of(List.of(new TestRange(20L, 5, 6), new TestRange(30L, 7, 10), new TestRange(10L, 1, 4)));
+    }
+
+    @Test
+    void testBuildsSortedSegmentsAndSkipsEmptySplitParts() {
+        SplitLayout layout = SplitLayout.of(List.of(new TestRange(20L, 5, 6), new TestRange(40L, null, null), new TestRange(10L, 1, 4)));
+        assertArrayEquals(new int[]{1, 5}, layout.starts());
+        assertArrayEquals(new long[]{10, 20}, layout.owners());
+        assertEquals(6, layout.lastPage());
+    }
+
+    @Test
+    void testPagesBetweenSplitPartsAreUnassigned() {
+        SplitLayout layout = SplitLayout.of(List.of(new TestRange(10L, 1, 2), new TestRange(20L, 6, 8)));
+        assertArrayEquals(new int[]{1, 3, 6}, layout.starts());
+        assertArrayEquals(new long[]{10, SplitLayout.UNASSIGNED, 20}, layout.owners());
+        assertThrows(IllegalArgumentException.class, () -> layout.moveBoundary(6, 5));
+        assertThrows(IllegalArgumentException.class, () -> layout.merge(10L, 20L));
+    }
+
+    @Test
+    void testOverlappingRangesAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SplitLayout.of(List.of(new TestRange(10L, 1, 4), new TestRange(20L, 3, 6))));
+    }
+
+    @Test
+    void testMoveBoundaryForwardMovesPagesToTheLeft() {
+        SplitLayout layout = threeParts();
+        SplitLayout.Change change = layout.moveBoundary(7, 9);
+        assertEquals(new SplitLayout.Change(30L, 20L, new SplitLayout.Range(7, 8),
+                new SplitLayout.Range(9, 10), new SplitLayout.Range(5, 8)), change);
+        assertArrayEquals(new int[]{1, 5, 9}, layout.starts());
+    }
+
+    @Test
+    void testMoveBoundaryBackwardMovesPagesToTheRight() {
+        SplitLayout layout = threeParts();
+        SplitLayout.Change change = layout.moveBoundary(5, 2);
+        assertEquals(new SplitLayout.Change(10L, 20L, new SplitLayout.Range(2, 4),
+                new SplitLayout.Range(1, 1), new SplitLayout.Range(2, 6)), change);
+        assertArrayEquals(new int[]{1, 2, 7}, layout.starts());
+    }
+
+    @Test
+    void testMoveBoundaryKeepsOnePageOnEachSide() {
+        SplitLayout layout = threeParts();
+        assertThrows(IllegalArgumentException.class, () -> layout.moveBoundary(5, 1));
+        assertThrows(IllegalArgumentException.class, () -> layout.moveBoundary(5, 7));
+        assertThrows(IllegalArgumentException.class, () -> layout.moveBoundary(5, 5));
+        assertThrows(IllegalArgumentException.class, () -> layout.moveBoundary(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> layout.moveBoundary(6, 7));
+        assertArrayEquals(new int[]{1, 5, 7}, layout.starts());
+    }
+
+    @Test
+    void testSplitAtInsertsSegment() {
+        SplitLayout layout = threeParts();
+        SplitLayout.Change change = layout.splitAt(9, 40L);
+        assertEquals(new SplitLayout.Change(30L, 40L, new SplitLayout.Range(9, 10),
+                new SplitLayout.Range(7, 8), new SplitLayout.Range(9, 10)), change);
+        assertArrayEquals(new int[]{1, 5, 7, 9}, layout.starts());
+        assertArrayEquals(new long[]{10, 20, 30, 40}, layout.owners());
+        assertEquals(10, layout.lastPage());
+    }
+
+    @Test
+    void testSplitAtRejectsFirstPagesAndPagesOutsideTheLayout() {
+        SplitLayout layout = threeParts();
+        assertThrows(IllegalArgumentException.class, () -> layout.splitAt(5, 40L));
+        assertThrows(IllegalArgumentException.class, () -> layout.splitAt(0, 40L));
+        assertThrows(IllegalArgumentException.class, () -> layout.splitAt(11, 40L));
+        assertEquals(10L, layout.splitPartToSplit(3));
+    }
+
+    @Test
+    void testMergeWithFollowingSplitPart() {
+        SplitLayout layout = threeParts();
+        SplitLayout.Change change = layout.merge(20L, 30L);
+        assertEquals(new SplitLayout.Change(30L, 20L, new SplitLayout.Range(7, 10), null, new SplitLayout.Range(5, 10)), change);
+        assertArrayEquals(new int[]{1, 5}, layout.starts());
+        assertArrayEquals(new long[]{10, 20}, layout.owners());
+    }
+
+    @Test
+    void testMergeWithPrecedingSplitPartTakesOverItsStart() {
+        SplitLayout layout = threeParts();
+        SplitLayout.Change change = layout.merge(20L, 10L);
+        assertEquals(new SplitLayout.Change(10L, 20L, new SplitLayout.Range(1, 4), null, new SplitLayout.Range(1, 6)), change);
+        assertArrayEquals(new int[]{1, 7}, layout.starts());
+        assertArrayEquals(new long[]{20, 30}, layout.owners());
+    }
+
+    @Test
+    void testMergeRejectsSplitPartsThatAreNotAdjacent() {
+        SplitLayout layout = threeParts();
+        assertThrows(IllegalArgumentException.class, () -> layout.merge(10L, 30L));
+        assertThrows(IllegalArgumentException.class, () -> layout.merge(10L, 99L));
+        assertThrows(IllegalArgumentException.class, () -> layout.merge(10L, 10L));
+    }
+}
@@ -0,0 +1,66 @@
+package com.ascend.ascend_doc_split_review.service;
+
+import com.ascend.ascend_doc_split_review.entity.OriginalDocument;
+import com.ascend.ascend_doc_split_review.entity.Page;
+import com.ascend.ascend_doc_split_review.entity.SplitPart;
+import com.ascend.ascend_doc_split_review.entity.User;
+import com.ascend.ascend_doc_split_review.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class SplitPartServiceBatchingTest {
+
+    private static final int PAGE_COUNT = 300;
+
+    @Autowired
+    private SplitPartService splitPartService;
+
+    @Autowired
+    private OriginalDocumentService originalDocumentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void createSplitPart_batchesPageInserts() {
+        User demo = userRepository.findByUsername("demo").orElseThrow();
+        OriginalDocument doc = originalDocumentService.createOriginalDocument(demo, "large.pdf");
+        entityManager.flush();
+        List<Page> pages = new ArrayList<>();
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            Page page = new Page();
+            page.setPageNumber(i);
+            pages.add(page);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        SplitPart splitPart = splitPartService.createSplitPart(doc, "Large", "X", "large.pdf", pages);
+        entityManager.flush();
+
+        assertThat(splitPart.getId()).isNotNull();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(PAGE_COUNT + 1);
+        // Previously one INSERT per page (IDENTITY); now 300 / batch_size page batches,
+        // one block of 50 ids per sequence call and a handful of single statements
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(25);
+    }
+}